@@ -0,0 +1,52 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.mappingindex;
+
+import dev.architectury.mappingstore.CompactMappings;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Converts mappings to the {@link CompactMappings} format, which the runtime services read
+ * like any other mapping file. Outputs named {@code *.gz} are compressed with gzip.
+ */
+public final class CompactMappingsTool {
+	private CompactMappingsTool() {
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length != 2) {
+			System.err.println("Usage: CompactMappingsTool <mappings> <output>");
+			System.exit(1);
+		}
+
+		Path mappingsPath = Paths.get(args[0]);
+		Path output = Paths.get(args[1]);
+		CompactMappings.write(mappingsPath, output);
+		System.out.println("Wrote compact mappings to " + output + " (" + Files.size(output) / 1024 + " KiB, was " + Files.size(mappingsPath) / 1024 + " KiB)");
+	}
+}
@@ -0,0 +1,71 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.mappingindex;
+
+import org.objectweb.asm.ClassReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * The super classes and interfaces of the classes of a game jar, read from the class headers.
+ */
+final class GameJarHierarchy {
+	final Map<String, String> superClasses = new HashMap<>();
+	final Map<String, String[]> interfaces = new HashMap<>();
+
+	private GameJarHierarchy() {
+	}
+
+	static GameJarHierarchy read(Path jar) throws IOException {
+		GameJarHierarchy hierarchy = new GameJarHierarchy();
+
+		try (ZipFile zip = new ZipFile(jar.toFile())) {
+			Enumeration<? extends ZipEntry> entries = zip.entries();
+
+			while (entries.hasMoreElements()) {
+				ZipEntry entry = entries.nextElement();
+				// versioned classes of multi-release jars have the same hierarchy as the base ones
+				if (entry.isDirectory() || !entry.getName().endsWith(".class") || entry.getName().startsWith("META-INF/")) continue;
+
+				ClassReader reader;
+
+				try (InputStream in = zip.getInputStream(entry)) {
+					reader = new ClassReader(in);
+				}
+
+				hierarchy.superClasses.put(reader.getClassName(), reader.getSuperName());
+				hierarchy.interfaces.put(reader.getClassName(), reader.getInterfaces());
+			}
+		}
+
+		return hierarchy;
+	}
+}
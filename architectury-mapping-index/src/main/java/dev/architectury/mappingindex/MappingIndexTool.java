@@ -0,0 +1,80 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.mappingindex;
+
+import dev.architectury.mappingstore.MappingIndex;
+import dev.architectury.mappingstore.MappingStore;
+import dev.architectury.mixinremapperservice.AncestorTables;
+import dev.architectury.mixinremapperservice.MixinTables;
+import dev.architectury.namingservice.NamingTables;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Generates a {@link MappingIndex} with the tables of both runtime services ahead of time.
+ *
+ * <p>Launches pass the index to the services with {@code architectury.naming.indexPath} and
+ * {@code architectury.mixinRemapper.indexPath} instead of the mappings, so they skip reading
+ * the mappings and building their tables.
+ *
+ * <p>If the game jar (in the target namespace) is passed as well, the index also contains the
+ * {@link AncestorTables} of the game for the hierarchy lookups of the mixin remapper.
+ */
+public final class MappingIndexTool {
+	private MappingIndexTool() {
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length != 4 && args.length != 5) {
+			System.err.println("Usage: MappingIndexTool <mappings> <source namespace> <target namespace> <output> [<game jar>]");
+			System.exit(1);
+		}
+
+		Path mappingsPath = Paths.get(args[0]);
+		Path output = Paths.get(args[3]);
+		Path gameJar = args.length > 4 ? Paths.get(args[4]) : null;
+		generate(mappingsPath, args[1], args[2], output, gameJar);
+		System.out.println("Wrote mapping index for " + args[1] + " -> " + args[2] + " to " + output);
+	}
+
+	/**
+	 * @param gameJar the game jar in the target namespace, or {@code null} to generate the index without ancestor tables
+	 */
+	public static void generate(Path mappingsPath, String sourceNamespace, String targetNamespace, Path output, Path gameJar) throws IOException {
+		MappingStore mappings = MappingStore.open(mappingsPath, sourceNamespace, targetNamespace);
+		MappingIndex.Writer index = new MappingIndex.Writer(mappingsPath, sourceNamespace, targetNamespace);
+		NamingTables.write(mappings, index);
+		MixinTables mixinTables = MixinTables.build(mappings);
+
+		if (gameJar != null) {
+			GameJarHierarchy hierarchy = GameJarHierarchy.read(gameJar);
+			mixinTables = mixinTables.withAncestors(AncestorTables.build(mappings, hierarchy.superClasses, hierarchy.interfaces));
+		}
+
+		mixinTables.write(index);
+		index.write(output);
+	}
+}
@@ -0,0 +1,52 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.mappingindex;
+
+import dev.architectury.mappingstore.SharedArchive;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Dumps a class-data-sharing archive of the classes in the class list of a service, for the class path
+ * of a launch, and the argument file next to it. Launches then pass {@code @<output>.args} to {@code java} to use it.
+ */
+public final class SharedArchiveTool {
+	private SharedArchiveTool() {
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length != 3) {
+			System.err.println("Usage: SharedArchiveTool <classList> <output> <classPath>");
+			System.exit(1);
+		}
+
+		Path output = Paths.get(args[1]);
+		SharedArchive.dump(Paths.get(args[0]), output, args[2]);
+		System.out.println("Wrote shared archive to " + output + " (" + Files.size(output) / 1024 + " KiB)");
+		System.out.println("Launch with @" + SharedArchive.getArgumentFile(output).toAbsolutePath() + " to use it");
+	}
+}
@@ -0,0 +1,373 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.mappingstore;
+
+import net.fabricmc.mappingio.MappedElementKind;
+import net.fabricmc.mappingio.MappingVisitor;
+
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A compact binary mapping format with the names and descriptors of all namespaces of a mapping file,
+ * which is all the runtime services read. Method arguments, local variables and comments are dropped.
+ *
+ * <p>The format is a stream of class, field and method records in the order they were visited. Every string
+ * is stored once, and referenced by its index when it occurs again, so the format is small even uncompressed
+ * and can be read and written in a single pass:
+ *
+ * <pre>
+ * magic, version: int
+ * namespace count: varint, namespaces: string[count]
+ * records: ('c' names | 'f' desc names | 'm' desc names)* 0
+ *
+ * names: string[namespace count], the source name followed by the names of the destination namespaces
+ * string: varint 0 for null, i + 1 for the i-th string so far, or the next index followed by a new string
+ *         as a varint UTF-8 length and its bytes
+ * </pre>
+ */
+public final class CompactMappings {
+	private static final int MAGIC = 0x41524d42; // ARMB
+	private static final int VERSION = 1;
+	private static final int END = 0;
+	private static final int CLASS = 'c';
+	private static final int FIELD = 'f';
+	private static final int METHOD = 'm';
+
+	private CompactMappings() {
+	}
+
+	/**
+	 * Converts mappings, which may be compressed, to the compact format.
+	 * The result is compressed with gzip if the output's file name ends with {@code .gz}.
+	 */
+	public static void write(Path mappingsPath, Path output) throws IOException {
+		Path parent = output.toAbsolutePath().getParent();
+		Files.createDirectories(parent);
+		Path tmp = Files.createTempFile(parent, output.getFileName().toString(), ".tmp");
+
+		try {
+			try (OutputStream os = Files.newOutputStream(tmp)) {
+				OutputStream out = output.getFileName().toString().endsWith(".gz") ? new GZIPOutputStream(os, 64 * 1024) : os;
+				Writer writer = new Writer(new BufferedOutputStream(out, 64 * 1024));
+				MappingFiles.read(mappingsPath, writer);
+				writer.finish();
+				out.close();
+			}
+
+			try {
+				Files.move(tmp, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tmp, output, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(tmp);
+		}
+	}
+
+	/**
+	 * Checks if a stream, which must support marking, starts with compact mappings, without consuming it.
+	 */
+	static boolean isCompact(InputStream in) throws IOException {
+		byte[] magic = MappingFiles.peek(in, 4);
+		return ((magic[0] & 0xff) << 24 | (magic[1] & 0xff) << 16 | (magic[2] & 0xff) << 8 | magic[3] & 0xff) == MAGIC;
+	}
+
+	static void read(InputStream in, MappingVisitor visitor) throws IOException {
+		Reader reader = new Reader(in);
+
+		if (reader.readInt() != MAGIC || reader.readInt() != VERSION) {
+			throw new IOException("Not compact mappings, or ones written by a different version");
+		}
+
+		String[] names = new String[reader.readVarInt()];
+		if (names.length < 2) throw new IOException("Compact mappings without destination namespaces");
+
+		for (int i = 0; i < names.length; i++) {
+			names[i] = reader.readString();
+		}
+
+		if (visitor.visitHeader()) {
+			visitor.visitNamespaces(names[0], Arrays.asList(names).subList(1, names.length));
+		}
+
+		if (visitor.visitContent()) {
+			boolean visitMembers = false;
+			int record;
+
+			while ((record = reader.readByte()) != END) {
+				String desc = record == CLASS ? null : reader.readString();
+
+				for (int i = 0; i < names.length; i++) {
+					names[i] = reader.readString();
+				}
+
+				switch (record) {
+					case CLASS:
+						visitMembers = visitor.visitClass(names[0]) && visitElement(visitor, MappedElementKind.CLASS, names);
+						break;
+					case FIELD:
+						if (visitMembers && visitor.visitField(names[0], desc)) visitElement(visitor, MappedElementKind.FIELD, names);
+						break;
+					case METHOD:
+						if (visitMembers && visitor.visitMethod(names[0], desc)) visitElement(visitor, MappedElementKind.METHOD, names);
+						break;
+					default:
+						throw new IOException("Corrupt compact mappings, unknown record " + record);
+				}
+			}
+		}
+
+		visitor.visitEnd();
+	}
+
+	private static boolean visitElement(MappingVisitor visitor, MappedElementKind kind, String[] names) throws IOException {
+		for (int i = 1; i < names.length; i++) {
+			if (names[i] != null) visitor.visitDstName(kind, i - 1, names[i]);
+		}
+
+		return visitor.visitElementContent(kind);
+	}
+
+	/**
+	 * Writes the visited mappings, only keeping what the format stores.
+	 */
+	private static final class Writer implements MappingVisitor {
+		private final OutputStream out;
+		private final Map<String, Integer> stringIds = new HashMap<>();
+		private String[] names;
+		private String desc;
+
+		Writer(OutputStream out) {
+			this.out = out;
+		}
+
+		@Override
+		public void visitNamespaces(String srcNamespace, List<String> dstNamespaces) throws IOException {
+			List<String> namespaces = new ArrayList<>();
+			namespaces.add(srcNamespace);
+			namespaces.addAll(dstNamespaces);
+			names = new String[namespaces.size()];
+
+			writeInt(MAGIC);
+			writeInt(VERSION);
+			writeVarInt(names.length);
+
+			for (String namespace : namespaces) {
+				writeString(namespace);
+			}
+		}
+
+		@Override
+		public boolean visitClass(String srcName) {
+			return startElement(srcName, null);
+		}
+
+		@Override
+		public boolean visitField(String srcName, String srcDesc) {
+			return startElement(srcName, srcDesc);
+		}
+
+		@Override
+		public boolean visitMethod(String srcName, String srcDesc) {
+			return startElement(srcName, srcDesc);
+		}
+
+		private boolean startElement(String srcName, String srcDesc) {
+			Arrays.fill(names, null);
+			names[0] = srcName;
+			desc = srcDesc;
+			return true;
+		}
+
+		@Override
+		public void visitDstName(MappedElementKind targetKind, int namespace, String name) {
+			names[namespace + 1] = name;
+		}
+
+		@Override
+		public boolean visitElementContent(MappedElementKind targetKind) throws IOException {
+			switch (targetKind) {
+				case CLASS:
+					out.write(CLASS);
+					break;
+				case FIELD:
+					out.write(FIELD);
+					writeString(desc);
+					break;
+				case METHOD:
+					out.write(METHOD);
+					writeString(desc);
+					break;
+				default:
+					return false;
+			}
+
+			for (String name : names) {
+				writeString(name);
+			}
+
+			return targetKind == MappedElementKind.CLASS;
+		}
+
+		@Override
+		public boolean visitMethodArg(int argPosition, int lvIndex, String srcName) {
+			return false;
+		}
+
+		@Override
+		public boolean visitMethodVar(int lvtRowIndex, int lvIndex, int startOpIdx, String srcName) {
+			return false;
+		}
+
+		@Override
+		public void visitComment(MappedElementKind targetKind, String comment) {
+		}
+
+		void finish() throws IOException {
+			if (names == null) throw new IOException("No mappings were read");
+			out.write(END);
+			out.flush();
+		}
+
+		private void writeString(String s) throws IOException {
+			if (s == null) {
+				writeVarInt(0);
+				return;
+			}
+
+			Integer id = stringIds.get(s);
+
+			if (id != null) {
+				writeVarInt(id + 1);
+			} else {
+				writeVarInt(stringIds.size() + 1);
+				stringIds.put(s, stringIds.size());
+				byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+				writeVarInt(bytes.length);
+				out.write(bytes);
+			}
+		}
+
+		private void writeInt(int i) throws IOException {
+			out.write(i >>> 24);
+			out.write(i >>> 16);
+			out.write(i >>> 8);
+			out.write(i);
+		}
+
+		private void writeVarInt(int i) throws IOException {
+			while ((i & ~0x7f) != 0) {
+				out.write(i & 0x7f | 0x80);
+				i >>>= 7;
+			}
+
+			out.write(i);
+		}
+	}
+
+	/**
+	 * Reads from its own buffer instead of the stream's, since single byte reads from buffered streams synchronize.
+	 */
+	private static final class Reader {
+		private final InputStream in;
+		private final List<String> strings = new ArrayList<>();
+		private byte[] buffer = new byte[64 * 1024];
+		private int position;
+		private int limit;
+
+		Reader(InputStream in) {
+			this.in = in;
+		}
+
+		// makes at least the given number of bytes available, moving the unread ones to the start of the buffer
+		private void require(int length) throws IOException {
+			if (limit - position >= length) return;
+
+			if (length > buffer.length) {
+				buffer = Arrays.copyOfRange(buffer, position, position + Math.max(length, buffer.length * 2));
+			} else {
+				System.arraycopy(buffer, position, buffer, 0, limit - position);
+			}
+
+			limit -= position;
+			position = 0;
+
+			while (limit < length) {
+				int n = in.read(buffer, limit, buffer.length - limit);
+				if (n < 0) throw new EOFException("Truncated compact mappings");
+				limit += n;
+			}
+		}
+
+		int readByte() throws IOException {
+			if (position == limit) require(1);
+			return buffer[position++] & 0xff;
+		}
+
+		int readInt() throws IOException {
+			return readByte() << 24 | readByte() << 16 | readByte() << 8 | readByte();
+		}
+
+		int readVarInt() throws IOException {
+			int value = 0;
+
+			for (int shift = 0; shift < 32; shift += 7) {
+				int b = readByte();
+				value |= (b & 0x7f) << shift;
+				if ((b & 0x80) == 0) return value;
+			}
+
+			throw new IOException("Corrupt compact mappings, varint too long");
+		}
+
+		String readString() throws IOException {
+			int id = readVarInt();
+			if (id == 0) return null;
+			if (id <= strings.size()) return strings.get(id - 1);
+			if (id != strings.size() + 1) throw new IOException("Corrupt compact mappings, string " + id + " out of order");
+
+			int length = readVarInt();
+			require(length);
+			String s = new String(buffer, position, length, StandardCharsets.UTF_8);
+			position += length;
+			strings.add(s);
+			return s;
+		}
+	}
+}
@@ -0,0 +1,136 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.mappingstore;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The JFR events of the {@link Profiler}.
+ *
+ * <p>The services target Java 8, where {@code jdk.jfr} may not exist, so the event types are
+ * defined at runtime through {@code jdk.jfr.EventFactory} instead of compiled event classes.
+ */
+final class JfrEvents {
+	private static final String CATEGORY = "Architectury";
+
+	private final Method newEvent;
+	private final Method set;
+	private final Method commit;
+	private final Object phaseFactory;
+	private final Object hierarchyWalkFactory;
+	private final Object ambiguousLookupFactory;
+
+	private JfrEvents(Definitions definitions) throws ReflectiveOperationException {
+		Class<?> eventFactory = Class.forName("jdk.jfr.EventFactory");
+		Class<?> event = Class.forName("jdk.jfr.Event");
+		this.newEvent = eventFactory.getMethod("newEvent");
+		this.set = event.getMethod("set", int.class, Object.class);
+		this.commit = event.getMethod("commit");
+		this.phaseFactory = definitions.create(eventFactory, "dev.architectury.Phase", "Architectury Phase",
+				definitions.field(String.class, "phase", "Phase"),
+				definitions.timespan("elapsed", "Elapsed"));
+		this.hierarchyWalkFactory = definitions.create(eventFactory, "dev.architectury.HierarchyWalk", "Architectury Hierarchy Walk",
+				definitions.field(String.class, "kind", "Kind"),
+				definitions.field(String.class, "owner", "Owner"),
+				definitions.field(String.class, "name", "Name"),
+				definitions.field(int.class, "depth", "Depth"));
+		this.ambiguousLookupFactory = definitions.create(eventFactory, "dev.architectury.AmbiguousLookup", "Architectury Ambiguous Lookup",
+				definitions.field(String.class, "kind", "Kind"),
+				definitions.field(String.class, "name", "Name"),
+				definitions.field(String.class, "desc", "Descriptor"));
+	}
+
+	/**
+	 * Defines the events, or returns {@code null} if the JVM doesn't support JFR.
+	 */
+	static JfrEvents create() {
+		try {
+			return new JfrEvents(new Definitions());
+		} catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+			return null;
+		}
+	}
+
+	void phase(String phase, long elapsed) {
+		commit(phaseFactory, phase, elapsed);
+	}
+
+	void hierarchyWalk(String kind, String owner, String name, int depth) {
+		commit(hierarchyWalkFactory, kind, owner, name, depth);
+	}
+
+	void ambiguousLookup(String kind, String name, String desc) {
+		commit(ambiguousLookupFactory, kind, name, desc);
+	}
+
+	private void commit(Object factory, Object... values) {
+		try {
+			Object event = newEvent.invoke(factory);
+
+			for (int i = 0; i < values.length; i++) {
+				set.invoke(event, i, values[i]);
+			}
+
+			commit.invoke(event);
+		} catch (ReflectiveOperationException e) {
+			// profiling must never break the services
+		}
+	}
+
+	private static final class Definitions {
+		private final Class<?> annotationElement = Class.forName("jdk.jfr.AnnotationElement");
+		private final Class<?> valueDescriptor = Class.forName("jdk.jfr.ValueDescriptor");
+		private final Constructor<?> newAnnotation = annotationElement.getConstructor(Class.class, Object.class);
+		private final Constructor<?> newField = valueDescriptor.getConstructor(Class.class, String.class, List.class);
+
+		Definitions() throws ReflectiveOperationException {
+		}
+
+		Object create(Class<?> eventFactory, String name, String label, Object... fields) throws ReflectiveOperationException {
+			List<Object> annotations = new ArrayList<>();
+			annotations.add(annotation("jdk.jfr.Name", name));
+			annotations.add(annotation("jdk.jfr.Label", label));
+			annotations.add(annotation("jdk.jfr.Category", new String[] {CATEGORY}));
+			return eventFactory.getMethod("create", List.class, List.class).invoke(null, annotations, Arrays.asList(fields));
+		}
+
+		Object field(Class<?> type, String name, String label) throws ReflectiveOperationException {
+			return newField.newInstance(type, name, Collections.singletonList(annotation("jdk.jfr.Label", label)));
+		}
+
+		Object timespan(String name, String label) throws ReflectiveOperationException {
+			return newField.newInstance(long.class, name, Arrays.asList(annotation("jdk.jfr.Label", label), annotation("jdk.jfr.Timespan", "NANOSECONDS")));
+		}
+
+		private Object annotation(String type, Object value) throws ReflectiveOperationException {
+			return newAnnotation.newInstance(Class.forName(type).asSubclass(Annotation.class), value);
+		}
+	}
+}
@@ -0,0 +1,271 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package dev.architectury.mappingstore;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The lookups a service answered during the previous launch, used to answer the same lookups
+ * during this launch while the full tables are still being built.
+ *
+ * <p>Tracing is opt-in with the {@value #ENABLED_PROPERTY} system property. While tracing, a service records
+ * the distinct keys it looks up before its tables are built together with their results, which are written next
+ * to the mapping file with the lookups of the previous trace when the JVM shuts down. Lookups answered by the built
+ * tables aren't recorded, the tables will be as fast during the next launch. Traces are keyed to the size and
+ * content hash of the mapping file when the trace was opened, so a trace of different mappings is never loaded.
+ * Keys with more than one part are stored as composite keys, where {@code null} parts are recorded as empty strings.
+ */
+public final class LookupTrace {
+	public static final String ENABLED_PROPERTY = "architectury.mappingStore.trace";
+
+	private static final int MAGIC = 0x41524d54; // ARMT
+	private static final int VERSION = 4;
+	// a launch only looks up a small fraction of the mappings, this only bounds unusual ones
+	private static final int MAX_TABLE_SIZE = 1 << 16;
+	private static final StringTable EMPTY = new StringTable.Builder().build();
+
+	private final Path path;
+	private final Key key;
+	private final Map<String, StringTable> previous;
+	private final Map<String, Recorder> recorders = new ConcurrentHashMap<>();
+
+	private LookupTrace(Path path, Key key, Map<String, StringTable> previous) {
+		this.path = path;
+		this.key = key;
+		this.previous = previous;
+	}
+
+	public static boolean isEnabled() {
+		return Boolean.getBoolean(ENABLED_PROPERTY);
+	}
+
+	/**
+	 * Loads the trace of the previous launch of a service, if there is one for the current version
+	 * of the mapping file, and starts recording the lookups of this launch. The trace is keyed to the mapping
+	 * file as it is now, which is hashed once per process for each version of it, so this should be called
+	 * before reading the mappings.
+	 *
+	 * @param name the name of the service, as every service traces its own lookups
+	 */
+	public static LookupTrace open(Path mappingsPath, String name, String sourceNamespace, String targetNamespace) throws IOException {
+		long start = Profiler.start();
+		Path absolutePath = mappingsPath.toAbsolutePath();
+		Path path = absolutePath.resolveSibling(absolutePath.getFileName() + "." + name + ".trace");
+		Key key = Key.of(absolutePath, sourceNamespace, targetNamespace);
+		LookupTrace trace = new LookupTrace(path, key, read(path, key));
+		Runtime.getRuntime().addShutdownHook(new Thread(trace::write, "Architectury Lookup Trace Writer"));
+		Profiler.phase("lookupTrace.open", start);
+		return trace;
+	}
+
+	private static Map<String, StringTable> read(Path path, Key key) {
+		Map<String, StringTable> tables = new HashMap<>();
+
+		if (!Files.isRegularFile(path)) {
+			return tables;
+		}
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+			if (buffer.getInt() == MAGIC && buffer.getInt() == VERSION && key.matches(buffer)) {
+				int tableCount = buffer.getInt();
+
+				for (int i = 0; i < tableCount; i++) {
+					String name = readUtf(buffer);
+					tables.put(name, StringTable.read(buffer));
+				}
+			}
+		} catch (IOException | BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+			// a trace only speeds up launches, so an unreadable one is treated like a missing one
+			tables.clear();
+		}
+
+		return tables;
+	}
+
+	private static String readUtf(ByteBuffer buffer) {
+		byte[] bytes = new byte[buffer.getShort() & 0xffff];
+		buffer.get(bytes);
+		// modified UTF-8, which only differs from UTF-8 for NUL and supplementary characters
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Gets the lookups of one kind, eg. class names, recorded during the previous launch.
+	 * The table is empty if there was no trace of the current mappings.
+	 */
+	public StringTable getPrevious(String name) {
+		return previous.getOrDefault(name, EMPTY);
+	}
+
+	/**
+	 * Gets the recorder for the lookups of one kind during this launch. Lookups answered from the
+	 * {@linkplain #getPrevious previous} ones don't need to be recorded again.
+	 */
+	public Recorder getRecorder(String name) {
+		return recorders.computeIfAbsent(name, n -> new Recorder());
+	}
+
+	/**
+	 * Writes the trace next to its final location and moves it into place,
+	 * so launches never observe a partially written trace.
+	 */
+	private void write() {
+		try {
+			Path tmp = Files.createTempFile(path.getParent(), path.getFileName().toString(), ".tmp");
+
+			try {
+				try (OutputStream os = Files.newOutputStream(tmp)) {
+					DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os));
+					out.writeInt(MAGIC);
+					out.writeInt(VERSION);
+					key.write(out);
+					out.writeInt(recorders.size());
+
+					for (Map.Entry<String, Recorder> entry : recorders.entrySet()) {
+						out.writeUTF(entry.getKey());
+						entry.getValue().build(getPrevious(entry.getKey())).write(out);
+					}
+
+					out.flush();
+				}
+
+				try {
+					Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				} catch (AtomicMoveNotSupportedException e) {
+					Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
+				}
+			} finally {
+				Files.deleteIfExists(tmp);
+			}
+		} catch (IOException e) {
+			// runs in a shutdown hook, where loggers may already be shut down
+			System.err.println("Could not write lookup trace to " + path + ":");
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Collects the distinct lookups of one kind, keyed by their parts joined like the composite keys
+	 * of a {@link StringTable}. Lookups can be recorded from any thread. Services only record lookups
+	 * made before their tables are built, so recording never slows down the lookups after that.
+	 */
+	public static final class Recorder {
+		private final Map<String, String> lookups = new ConcurrentHashMap<>();
+
+		private Recorder() {
+		}
+
+		public void record(String key, String result) {
+			if (lookups.size() < MAX_TABLE_SIZE) {
+				lookups.putIfAbsent(key, result);
+			}
+		}
+
+		public void record(String first, String second, String result) {
+			if (lookups.size() < MAX_TABLE_SIZE) {
+				lookups.putIfAbsent(part(first) + '\0' + part(second), result);
+			}
+		}
+
+		public void record(String first, String second, String third, String result) {
+			if (lookups.size() < MAX_TABLE_SIZE) {
+				lookups.putIfAbsent(part(first) + '\0' + part(second) + '\0' + part(third), result);
+			}
+		}
+
+		private static String part(String part) {
+			return part != null ? part : "";
+		}
+
+		/**
+		 * @param previous the previous lookups, which are kept unless the trace would outgrow the limit
+		 */
+		StringTable build(StringTable previous) {
+			StringTable.Builder builder = previous.size() + lookups.size() <= MAX_TABLE_SIZE
+					? new StringTable.Builder(previous) : new StringTable.Builder();
+
+			for (Map.Entry<String, String> entry : lookups.entrySet()) {
+				String[] parts = entry.getKey().split("\0", -1);
+
+				if (parts.length == 1) {
+					builder.put(parts[0], entry.getValue());
+				} else if (parts.length == 2) {
+					builder.put(parts[0], parts[1], entry.getValue());
+				} else {
+					builder.put(parts[0], parts[1], parts[2], entry.getValue());
+				}
+			}
+
+			return builder.build();
+		}
+	}
+
+	private static final class Key {
+		final String sourceNamespace;
+		final String targetNamespace;
+		final long size;
+		final long contentHash;
+
+		private Key(String sourceNamespace, String targetNamespace, long size, long contentHash) {
+			this.sourceNamespace = sourceNamespace;
+			this.targetNamespace = targetNamespace;
+			this.size = size;
+			this.contentHash = contentHash;
+		}
+
+		static Key of(Path mappingsPath, String sourceNamespace, String targetNamespace) throws IOException {
+			long size = Files.size(mappingsPath);
+			long lastModified = Files.getLastModifiedTime(mappingsPath).toMillis();
+			return new Key(sourceNamespace, targetNamespace, size, MappingFiles.hash(mappingsPath, size, lastModified));
+		}
+
+		void write(DataOutputStream out) throws IOException {
+			out.writeUTF(sourceNamespace);
+			out.writeUTF(targetNamespace);
+			out.writeLong(size);
+			out.writeLong(contentHash);
+		}
+
+		boolean matches(ByteBuffer buffer) {
+			return sourceNamespace.equals(readUtf(buffer)) && targetNamespace.equals(readUtf(buffer))
+					&& buffer.getLong() == size && buffer.getLong() == contentHash;
+		}
+	}
+}
@@ -0,0 +1,211 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.mappingstore;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * The classes that differ between two versions of the same mappings, and the names they map.
+ *
+ * <p>Lookup tables are updated by removing every key a changed class could have contributed to and
+ * adding those keys again from the new mappings, in the order of the new mappings. Keys are filtered
+ * by name only, so a table derived from the updated entries is the same as one built from scratch.
+ */
+public final class MappingDiff {
+	private final boolean full;
+	private final int changedClasses;
+	private final Set<String> classNames;
+	private final Set<String> methodNames;
+	private final Set<String> fieldNames;
+
+	private MappingDiff(boolean full, int changedClasses, Set<String> classNames, Set<String> methodNames, Set<String> fieldNames) {
+		this.full = full;
+		this.changedClasses = changedClasses;
+		this.classNames = classNames;
+		this.methodNames = methodNames;
+		this.fieldNames = fieldNames;
+	}
+
+	/**
+	 * Compares two versions of the mappings, matching their classes by source name.
+	 */
+	public static MappingDiff of(MappingStore previous, MappingStore next) {
+		long start = Profiler.start();
+		Map<String, Integer> previousClasses = indexClasses(previous);
+		Map<String, Integer> nextClasses = indexClasses(next);
+		Set<String> changed = new HashSet<>();
+
+		for (Map.Entry<String, Integer> entry : nextClasses.entrySet()) {
+			Integer previousClass = previousClasses.get(entry.getKey());
+
+			if (previousClass == null || previousClass < 0 || entry.getValue() < 0 || !sameClass(previous, previousClass, next, entry.getValue())) {
+				changed.add(entry.getKey());
+			}
+		}
+
+		for (String name : previousClasses.keySet()) {
+			if (!nextClasses.containsKey(name)) changed.add(name);
+		}
+
+		// which of several mappings for the same key wins depends on their order,
+		// so moving unchanged classes around needs a full rebuild
+		boolean full = !unchangedOrder(previous, changed).equals(unchangedOrder(next, changed));
+		Set<String> classNames = new HashSet<>();
+		Set<String> methodNames = new HashSet<>();
+		Set<String> fieldNames = new HashSet<>();
+
+		if (!full) {
+			collectNames(previous, changed, classNames, methodNames, fieldNames);
+			collectNames(next, changed, classNames, methodNames, fieldNames);
+		}
+
+		MappingDiff diff = new MappingDiff(full, changed.size(), classNames, methodNames, fieldNames);
+		Profiler.phase("mappingDiff.compute", start);
+		return diff;
+	}
+
+	// classes that occur more than once are marked with -1 and always treated as changed
+	private static Map<String, Integer> indexClasses(MappingStore mappings) {
+		Map<String, Integer> classes = new HashMap<>(mappings.getClassCount() * 2);
+
+		for (int cls = 0; cls < mappings.getClassCount(); cls++) {
+			classes.merge(String.valueOf(mappings.getClassSrcName(cls)), cls, (first, second) -> -1);
+		}
+
+		return classes;
+	}
+
+	private static boolean sameClass(MappingStore previous, int previousClass, MappingStore next, int nextClass) {
+		if (!Objects.equals(previous.getClassDstName(previousClass), next.getClassDstName(nextClass))) return false;
+
+		int previousField = previous.getFieldStart(previousClass);
+		int nextField = next.getFieldStart(nextClass);
+		if (previous.getFieldEnd(previousClass) - previousField != next.getFieldEnd(nextClass) - nextField) return false;
+
+		for (int end = next.getFieldEnd(nextClass); nextField < end; previousField++, nextField++) {
+			if (!Objects.equals(previous.getFieldSrcName(previousField), next.getFieldSrcName(nextField))
+					|| !Objects.equals(previous.getFieldSrcDesc(previousField), next.getFieldSrcDesc(nextField))
+					|| !Objects.equals(previous.getFieldDstName(previousField), next.getFieldDstName(nextField))) {
+				return false;
+			}
+		}
+
+		int previousMethod = previous.getMethodStart(previousClass);
+		int nextMethod = next.getMethodStart(nextClass);
+		if (previous.getMethodEnd(previousClass) - previousMethod != next.getMethodEnd(nextClass) - nextMethod) return false;
+
+		for (int end = next.getMethodEnd(nextClass); nextMethod < end; previousMethod++, nextMethod++) {
+			if (!Objects.equals(previous.getMethodSrcName(previousMethod), next.getMethodSrcName(nextMethod))
+					|| !Objects.equals(previous.getMethodSrcDesc(previousMethod), next.getMethodSrcDesc(nextMethod))
+					|| !Objects.equals(previous.getMethodDstName(previousMethod), next.getMethodDstName(nextMethod))) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private static List<String> unchangedOrder(MappingStore mappings, Set<String> changed) {
+		List<String> order = new ArrayList<>(mappings.getClassCount());
+
+		for (int cls = 0; cls < mappings.getClassCount(); cls++) {
+			String name = String.valueOf(mappings.getClassSrcName(cls));
+			if (!changed.contains(name)) order.add(name);
+		}
+
+		return order;
+	}
+
+	private static void collectNames(MappingStore mappings, Set<String> changed, Set<String> classNames, Set<String> methodNames, Set<String> fieldNames) {
+		for (int cls = 0; cls < mappings.getClassCount(); cls++) {
+			String name = mappings.getClassSrcName(cls);
+			if (!changed.contains(String.valueOf(name))) continue;
+
+			addName(classNames, name);
+			addName(classNames, mappings.getClassDstName(cls));
+
+			for (int field = mappings.getFieldStart(cls), end = mappings.getFieldEnd(cls); field < end; field++) {
+				addName(fieldNames, mappings.getFieldSrcName(field));
+			}
+
+			for (int method = mappings.getMethodStart(cls), end = mappings.getMethodEnd(cls); method < end; method++) {
+				addName(methodNames, mappings.getMethodSrcName(method));
+			}
+		}
+	}
+
+	private static void addName(Set<String> names, String name) {
+		if (name != null) names.add(name);
+	}
+
+	/**
+	 * Checks if nothing changed, so the current tables can be kept as they are.
+	 */
+	public boolean isEmpty() {
+		return !full && changedClasses == 0;
+	}
+
+	/**
+	 * Checks if the tables need to be built from scratch instead of being updated.
+	 */
+	public boolean isFull() {
+		return full;
+	}
+
+	public int getChangedClassCount() {
+		return changedClasses;
+	}
+
+	/**
+	 * Checks if a key that is a class name of either namespace, or has one as its first part, may have changed.
+	 */
+	public boolean affectsClass(String name) {
+		return full || classNames.contains(name);
+	}
+
+	/**
+	 * Checks if a key that is the source name of a method, or has one as its first part, may have changed.
+	 */
+	public boolean affectsMethod(String name) {
+		return full || methodNames.contains(name);
+	}
+
+	/**
+	 * Checks if a key that is the source name of a field, or has one as its first part, may have changed.
+	 */
+	public boolean affectsField(String name) {
+		return full || fieldNames.contains(name);
+	}
+
+	@Override
+	public String toString() {
+		return full ? "MappingDiff[full]" : "MappingDiff[" + changedClasses + " classes]";
+	}
+}
@@ -0,0 +1,177 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.mappingstore;
+
+import net.fabricmc.mappingio.MappingReader;
+import net.fabricmc.mappingio.MappingVisitor;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads mapping files in any format of mapping-io, in the {@link CompactMappings} format,
+ * or compressed with gzip or zstd. Formats and compression are detected from the content.
+ *
+ * <p>Files are read through a file channel with a large buffer, so that mappings on network
+ * file systems are fetched in few large reads instead of many small ones.
+ */
+public final class MappingFiles {
+	private static final int BUFFER_SIZE = 1 << 20;
+
+	private static final String ZSTD_INPUT_STREAM = "com.github.luben.zstd.ZstdInputStream";
+
+	// the hash of every version of a mapping file hashed by this process, by its absolute path
+	private static final Map<Path, long[]> HASHES = new ConcurrentHashMap<>();
+
+	private MappingFiles() {
+	}
+
+	public static void read(Path path, MappingVisitor visitor) throws IOException {
+		// directory based formats, like Enigma's
+		if (Files.isDirectory(path)) {
+			MappingReader.read(path, visitor);
+			return;
+		}
+
+		try (InputStream in = open(path)) {
+			if (CompactMappings.isCompact(in)) {
+				CompactMappings.read(in, visitor);
+			} else {
+				MappingReader.read(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024), visitor);
+			}
+		}
+	}
+
+	/**
+	 * Hashes the content of a mapping file, as stored, to detect whether caches derived from it are stale.
+	 */
+	public static long hash(Path path) throws IOException {
+		CRC32 crc = new CRC32();
+		ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			while (channel.read(buffer) >= 0) {
+				buffer.flip();
+				crc.update(buffer);
+				buffer.clear();
+			}
+		}
+
+		return crc.getValue();
+	}
+
+	/**
+	 * Hashes a mapping file like {@link #hash}, but only once per process for each version of it,
+	 * as told by its size and modification time, so that every cache of it shares the hash.
+	 *
+	 * @throws IOException if the file isn't at that version (anymore)
+	 */
+	static long hash(Path path, long size, long lastModified) throws IOException {
+		Path absolutePath = path.toAbsolutePath().normalize();
+		long[] version = HASHES.get(absolutePath);
+
+		if (version == null || version[0] != size || version[1] != lastModified) {
+			checkVersion(absolutePath, size, lastModified);
+			long hash = hash(absolutePath);
+			checkVersion(absolutePath, size, lastModified);
+			version = new long[] { size, lastModified, hash };
+			HASHES.put(absolutePath, version);
+		}
+
+		return version[2];
+	}
+
+	private static void checkVersion(Path path, long size, long lastModified) throws IOException {
+		if (Files.size(path) != size || Files.getLastModifiedTime(path).toMillis() != lastModified) {
+			throw new IOException("Mappings " + path + " changed while they were being read");
+		}
+	}
+
+	/**
+	 * Opens a mapping file, decompressing it if needed.
+	 *
+	 * @return a stream that supports marking
+	 */
+	static InputStream open(Path path) throws IOException {
+		InputStream in = new BufferedInputStream(Channels.newInputStream(FileChannel.open(path, StandardOpenOption.READ)), BUFFER_SIZE);
+
+		try {
+			byte[] magic = peek(in, 4);
+
+			if ((magic[0] & 0xff) == 0x1f && (magic[1] & 0xff) == 0x8b) {
+				return new BufferedInputStream(new GZIPInputStream(in, 64 * 1024), 64 * 1024);
+			} else if ((magic[0] & 0xff) == 0x28 && (magic[1] & 0xff) == 0xb5 && (magic[2] & 0xff) == 0x2f && (magic[3] & 0xff) == 0xfd) {
+				return new BufferedInputStream(openZstd(path, in), 64 * 1024);
+			}
+
+			return in;
+		} catch (IOException | RuntimeException e) {
+			in.close();
+			throw e;
+		}
+	}
+
+	static byte[] peek(InputStream in, int length) throws IOException {
+		byte[] bytes = new byte[length];
+		in.mark(length);
+		int read = 0;
+
+		while (read < length) {
+			int n = in.read(bytes, read, length - read);
+			if (n < 0) break;
+			read += n;
+		}
+
+		in.reset();
+		return bytes;
+	}
+
+	// zstd isn't part of the JDK, it's only supported if zstd-jni is available
+	private static InputStream openZstd(Path path, InputStream in) throws IOException {
+		try {
+			return (InputStream) Class.forName(ZSTD_INPUT_STREAM).getConstructor(InputStream.class).newInstance(in);
+		} catch (ClassNotFoundException e) {
+			throw new IOException("Mappings " + path + " are compressed with zstd, which requires zstd-jni on the classpath. Use gzip instead.");
+		} catch (InvocationTargetException e) {
+			throw new IOException("Could not read the zstd-compressed mappings " + path, e.getCause());
+		} catch (ReflectiveOperationException | LinkageError e) {
+			throw new IOException("Could not read the zstd-compressed mappings " + path, e);
+		}
+	}
+}
@@ -0,0 +1,222 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.mappingstore;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A prebuilt index of the lookup tables of the runtime services for the mappings between two namespaces.
+ *
+ * <p>Indexes are generated ahead of time by the mapping index tool. Loading one only copies the tables
+ * out of the file, so services configured with an index never read or process the mappings themselves.
+ * The index records the size and content hash of the mappings it was generated from, so services that
+ * know the mappings as well can {@linkplain #isGeneratedFrom check} that the index is still up to date.
+ */
+public final class MappingIndex {
+	private static final int MAGIC = 0x41524d49; // ARMI
+	private static final int VERSION = 3;
+
+	private final Path path;
+	private final String sourceNamespace;
+	private final String targetNamespace;
+	private final long mappingsSize;
+	private final long mappingsHash;
+	private final Map<String, StringTable> tables;
+
+	private MappingIndex(Path path, String sourceNamespace, String targetNamespace, long mappingsSize, long mappingsHash, Map<String, StringTable> tables) {
+		this.path = path;
+		this.sourceNamespace = sourceNamespace;
+		this.targetNamespace = targetNamespace;
+		this.mappingsSize = mappingsSize;
+		this.mappingsHash = mappingsHash;
+		this.tables = tables;
+	}
+
+	/**
+	 * Loads an index, checking that it maps between the expected namespaces.
+	 *
+	 * @param sourceNamespace the expected source namespace, or {@code null} to accept any
+	 */
+	public static MappingIndex load(Path path, String sourceNamespace, String targetNamespace) throws IOException {
+		long start = Profiler.start();
+		MappingIndex index;
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			index = read(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+		}
+
+		if (sourceNamespace != null && !sourceNamespace.equals(index.sourceNamespace) || !targetNamespace.equals(index.targetNamespace)) {
+			throw new IllegalArgumentException("Mapping index " + path + " maps " + index.sourceNamespace + " -> " + index.targetNamespace
+					+ ", expected " + (sourceNamespace != null ? sourceNamespace : "*") + " -> " + targetNamespace);
+		}
+
+		Profiler.phase("mappingIndex.load", start);
+		return index;
+	}
+
+	private static MappingIndex read(Path path, ByteBuffer buffer) throws IOException {
+		try {
+			if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+				throw new IOException("Not a mapping index, or one written by a different version: " + path);
+			}
+
+			String sourceNamespace = readUtf(buffer);
+			String targetNamespace = readUtf(buffer);
+			long mappingsSize = buffer.getLong();
+			long mappingsHash = buffer.getLong();
+			int tableCount = buffer.getInt();
+			Map<String, StringTable> tables = new LinkedHashMap<>();
+
+			for (int i = 0; i < tableCount; i++) {
+				String name = readUtf(buffer);
+				tables.put(name, StringTable.read(buffer));
+			}
+
+			return new MappingIndex(path, sourceNamespace, targetNamespace, mappingsSize, mappingsHash, Collections.unmodifiableMap(tables));
+		} catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+			throw new IOException("Corrupt mapping index " + path, e);
+		}
+	}
+
+	private static String readUtf(ByteBuffer buffer) {
+		byte[] bytes = new byte[buffer.getShort() & 0xffff];
+		buffer.get(bytes);
+		// modified UTF-8, which only differs from UTF-8 for NUL and supplementary characters
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	public String getSourceNamespace() {
+		return sourceNamespace;
+	}
+
+	public String getTargetNamespace() {
+		return targetNamespace;
+	}
+
+	/**
+	 * Checks if the index was generated from the current content of a mapping file. The file is only
+	 * hashed if it has the size of the mappings of the index, and at most once per process for each version of it.
+	 */
+	public boolean isGeneratedFrom(Path mappingsPath) throws IOException {
+		long size = Files.size(mappingsPath);
+		return size == mappingsSize && MappingFiles.hash(mappingsPath, size, Files.getLastModifiedTime(mappingsPath).toMillis()) == mappingsHash;
+	}
+
+	/**
+	 * Checks if the index contains a table, for tables that are only generated optionally.
+	 */
+	public boolean hasTable(String name) {
+		return tables.containsKey(name);
+	}
+
+	/**
+	 * Gets a table of the index.
+	 *
+	 * @throws IllegalArgumentException if the index doesn't contain the table
+	 */
+	public StringTable getTable(String name) {
+		StringTable table = tables.get(name);
+		if (table == null) throw new IllegalArgumentException("Mapping index " + path + " has no table '" + name + "'");
+		return table;
+	}
+
+	/**
+	 * Collects the tables of a new index.
+	 */
+	public static final class Writer {
+		private final String sourceNamespace;
+		private final String targetNamespace;
+		private final long mappingsSize;
+		private final long mappingsHash;
+		private final Map<String, StringTable> tables = new LinkedHashMap<>();
+
+		/**
+		 * @param mappingsPath the mapping file the tables are generated from, which is hashed right away
+		 */
+		public Writer(Path mappingsPath, String sourceNamespace, String targetNamespace) throws IOException {
+			this.sourceNamespace = sourceNamespace;
+			this.targetNamespace = targetNamespace;
+			this.mappingsSize = Files.size(mappingsPath);
+			this.mappingsHash = MappingFiles.hash(mappingsPath, mappingsSize, Files.getLastModifiedTime(mappingsPath).toMillis());
+		}
+
+		public Writer put(String name, StringTable table) {
+			tables.put(name, table);
+			return this;
+		}
+
+		/**
+		 * Writes the index next to its final location and moves it into place,
+		 * so launches never observe a partially written index.
+		 */
+		public void write(Path path) throws IOException {
+			Path parent = path.toAbsolutePath().getParent();
+			Files.createDirectories(parent);
+			Path tmp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+
+			try {
+				try (OutputStream os = Files.newOutputStream(tmp)) {
+					DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os));
+					out.writeInt(MAGIC);
+					out.writeInt(VERSION);
+					out.writeUTF(sourceNamespace);
+					out.writeUTF(targetNamespace);
+					out.writeLong(mappingsSize);
+					out.writeLong(mappingsHash);
+					out.writeInt(tables.size());
+
+					for (Map.Entry<String, StringTable> entry : tables.entrySet()) {
+						out.writeUTF(entry.getKey());
+						entry.getValue().write(out);
+					}
+
+					out.flush();
+				}
+
+				try {
+					Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				} catch (AtomicMoveNotSupportedException e) {
+					Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
+				}
+			} finally {
+				Files.deleteIfExists(tmp);
+			}
+		}
+	}
+}
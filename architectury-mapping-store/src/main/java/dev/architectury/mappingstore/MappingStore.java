@@ -0,0 +1,757 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.mappingstore;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.fabricmc.mappingio.MappedElementKind;
+import net.fabricmc.mappingio.MappingVisitor;
+import net.fabricmc.mappingio.tree.MappingTreeView;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * A read-only store of the mappings between two namespaces of a mapping file.
+ *
+ * <p>Stores are backed by a binary cache file keyed by the absolute path, size, modification time and
+ * content hash of the mapping file as well as the two namespaces. The mapping file is only hashed if its size or
+ * modification time differ from the cache's, so a warm cache is opened without reading the mapping file, and a
+ * mapping file that was rewritten with the same content keeps its cache. The first service to open a mapping
+ * file parses it and writes the cache; every other service (and every later launch) memory-maps the same
+ * file instead, so the mappings are parsed at most once and the mapped pages are shared between services.
+ *
+ * <p>Strings are deduplicated in the cache and only decoded onto the heap when they are requested.
+ *
+ * <p>Mapping files may also be in the {@link CompactMappings} format or compressed, see {@link MappingFiles}.
+ */
+public final class MappingStore {
+	public static final String CACHE_DIR_PROPERTY = "architectury.mappingStore.cacheDir";
+
+	private static final Logger LOGGER = LogManager.getLogger("ArchitecturyMappingStore");
+
+	private static final int MAGIC = 0x41524d53; // ARMS
+	private static final int VERSION = 1;
+	private static final int NO_NAME = -1;
+	private static final int CLASS_RECORD_SIZE = 16;
+	private static final int MEMBER_RECORD_SIZE = 12;
+
+	private final ByteBuffer buffer;
+	private final String sourceNamespace;
+	private final String targetNamespace;
+	private final int stringOffsets;
+	private final int stringData;
+	private final String[] strings;
+	private final int classes;
+	private final int classCount;
+	private final int fields;
+	private final int fieldCount;
+	private final int methods;
+	private final int methodCount;
+
+	private MappingStore(ByteBuffer buffer, Key key) throws IOException {
+		this.buffer = buffer;
+
+		if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION || !key.matches(buffer)) {
+			throw new IllegalArgumentException("Mapping store doesn't match " + key);
+		}
+
+		this.sourceNamespace = key.sourceNamespace;
+		this.targetNamespace = key.targetNamespace;
+		this.strings = new String[checkCount(buffer, 4)];
+		this.stringOffsets = buffer.position();
+		this.stringData = stringOffsets + (strings.length + 1) * 4;
+		buffer.position(stringData + buffer.getInt(stringOffsets + strings.length * 4));
+		this.classCount = checkCount(buffer, CLASS_RECORD_SIZE);
+		this.classes = buffer.position();
+		buffer.position(classes + classCount * CLASS_RECORD_SIZE);
+		this.fieldCount = checkCount(buffer, MEMBER_RECORD_SIZE);
+		this.fields = buffer.position();
+		buffer.position(fields + fieldCount * MEMBER_RECORD_SIZE);
+		this.methodCount = checkCount(buffer, MEMBER_RECORD_SIZE);
+		this.methods = buffer.position();
+	}
+
+	/**
+	 * Opens the store for the mappings between two namespaces of a mapping file,
+	 * parsing the mapping file only if there is no up-to-date cache for it yet.
+	 */
+	public static MappingStore open(Path mappingsPath, String sourceNamespace, String targetNamespace) throws IOException {
+		long start = Profiler.start();
+		MappingStore store = openStore(mappingsPath, sourceNamespace, targetNamespace);
+		Profiler.phase("mappingStore.open", start);
+		return store;
+	}
+
+	@SuppressWarnings("try")
+	private static MappingStore openStore(Path mappingsPath, String sourceNamespace, String targetNamespace) throws IOException {
+		Key key = Key.of(mappingsPath, sourceNamespace, targetNamespace);
+		Path cachePath = getCacheDir().resolve(key.getFileName());
+		MappingStore store = tryMap(cachePath, key);
+		if (store != null) return store;
+		Builder builder = null;
+
+		try {
+			Files.createDirectories(cachePath.getParent());
+
+			// Lock while building so that services opening the same mappings concurrently wait for
+			// the first one instead of parsing the mappings again.
+			try (CacheLock ignored = CacheLock.acquire(cachePath.resolveSibling(cachePath.getFileName() + ".lock"))) {
+				store = tryMap(cachePath, key);
+
+				if (store == null) {
+					write(cachePath, key, builder = read(key));
+					store = tryMap(cachePath, key);
+				}
+			}
+		} catch (IOException e) {
+			// An unwritable cache directory isn't fatal, we just can't share the parsed mappings
+			LOGGER.warn("Could not cache the mappings {} in {}, they are parsed on every launch.", key, cachePath, e);
+		}
+
+		if (store == null) {
+			if (builder == null) builder = read(key);
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			builder.write(out, key);
+			store = new MappingStore(ByteBuffer.wrap(out.toByteArray()), key);
+		}
+
+		return store;
+	}
+
+	/**
+	 * Builds a store of the mappings between two namespaces of a mapping tree in memory,
+	 * for callers that already read the mappings into a tree. These stores aren't cached.
+	 */
+	public static MappingStore of(MappingTreeView tree, String sourceNamespace, String targetNamespace) throws IOException {
+		Key key = Key.ofTree(sourceNamespace, targetNamespace);
+		ReadingVisitor visitor = new ReadingVisitor(key);
+		tree.accept(visitor);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		visitor.toBuilder().write(out, key);
+		return new MappingStore(ByteBuffer.wrap(out.toByteArray()), key);
+	}
+
+	private static Path getCacheDir() {
+		String cacheDir = System.getProperty(CACHE_DIR_PROPERTY);
+		return cacheDir != null ? Paths.get(cacheDir) : Paths.get(System.getProperty("java.io.tmpdir"), "architectury-loom-runtime");
+	}
+
+	private static MappingStore tryMap(Path cachePath, Key key) {
+		if (!Files.isRegularFile(cachePath)) {
+			return null;
+		}
+
+		try (FileChannel channel = FileChannel.open(cachePath, StandardOpenOption.READ)) {
+			return new MappingStore(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), key);
+		} catch (IOException | BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+			// a stale, truncated or corrupt cache is treated like a missing one
+			return null;
+		}
+	}
+
+	private static Builder read(Key key) throws IOException {
+		long start = Profiler.start();
+		ReadingVisitor visitor = new ReadingVisitor(key);
+		MappingFiles.read(key.mappingsPath, visitor);
+		Builder builder = visitor.toBuilder();
+		Profiler.phase("mappingStore.parse", start);
+		return builder;
+	}
+
+	/**
+	 * Writes the cache next to its final location and moves it into place,
+	 * so concurrent launches never observe a partially written cache.
+	 */
+	private static void write(Path cachePath, Key key, Builder builder) throws IOException {
+		Path tmp = Files.createTempFile(cachePath.getParent(), cachePath.getFileName().toString(), ".tmp");
+
+		try {
+			try (OutputStream out = Files.newOutputStream(tmp)) {
+				builder.write(out, key);
+			}
+
+			try {
+				Files.move(tmp, cachePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tmp, cachePath, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(tmp);
+		}
+	}
+
+	private static int checkCount(ByteBuffer buffer, int recordSize) {
+		int count = buffer.getInt();
+
+		if (count < 0 || (long) count * recordSize > buffer.remaining()) {
+			throw new IllegalArgumentException("Invalid record count " + count);
+		}
+
+		return count;
+	}
+
+	public String getSourceNamespace() {
+		return sourceNamespace;
+	}
+
+	public String getTargetNamespace() {
+		return targetNamespace;
+	}
+
+	public int getClassCount() {
+		return classCount;
+	}
+
+	public String getClassSrcName(int cls) {
+		return getString(buffer.getInt(classes + cls * CLASS_RECORD_SIZE));
+	}
+
+	public String getClassDstName(int cls) {
+		return getString(buffer.getInt(classes + cls * CLASS_RECORD_SIZE + 4));
+	}
+
+	public int getFieldCount() {
+		return fieldCount;
+	}
+
+	public int getFieldStart(int cls) {
+		return cls == 0 ? 0 : getFieldEnd(cls - 1);
+	}
+
+	public int getFieldEnd(int cls) {
+		return buffer.getInt(classes + cls * CLASS_RECORD_SIZE + 8);
+	}
+
+	public String getFieldSrcName(int field) {
+		return getString(buffer.getInt(fields + field * MEMBER_RECORD_SIZE));
+	}
+
+	public String getFieldSrcDesc(int field) {
+		return getString(buffer.getInt(fields + field * MEMBER_RECORD_SIZE + 4));
+	}
+
+	public String getFieldDstName(int field) {
+		return getString(buffer.getInt(fields + field * MEMBER_RECORD_SIZE + 8));
+	}
+
+	public int getMethodCount() {
+		return methodCount;
+	}
+
+	public int getMethodStart(int cls) {
+		return cls == 0 ? 0 : getMethodEnd(cls - 1);
+	}
+
+	public int getMethodEnd(int cls) {
+		return buffer.getInt(classes + cls * CLASS_RECORD_SIZE + 12);
+	}
+
+	public String getMethodSrcName(int method) {
+		return getString(buffer.getInt(methods + method * MEMBER_RECORD_SIZE));
+	}
+
+	public String getMethodSrcDesc(int method) {
+		return getString(buffer.getInt(methods + method * MEMBER_RECORD_SIZE + 4));
+	}
+
+	public String getMethodDstName(int method) {
+		return getString(buffer.getInt(methods + method * MEMBER_RECORD_SIZE + 8));
+	}
+
+	private String getString(int id) {
+		if (id == NO_NAME) return null;
+		String s = strings[id];
+
+		if (s == null) {
+			// Racing decodes are harmless, both produce an equal string
+			int start = buffer.getInt(stringOffsets + id * 4);
+			int end = buffer.getInt(stringOffsets + (id + 1) * 4);
+			byte[] bytes = new byte[end - start];
+
+			for (int i = 0; i < bytes.length; i++) {
+				bytes[i] = buffer.get(stringData + start + i);
+			}
+
+			strings[id] = s = new String(bytes, StandardCharsets.UTF_8);
+		}
+
+		return s;
+	}
+
+	/**
+	 * Replays the store into a mapping visitor, with the source namespace as
+	 * the visited source namespace and the target namespace as the only destination.
+	 */
+	public void accept(MappingVisitor visitor) throws IOException {
+		do {
+			if (visitor.visitHeader()) {
+				visitor.visitNamespaces(sourceNamespace, Collections.singletonList(targetNamespace));
+			}
+
+			if (visitor.visitContent()) {
+				for (int cls = 0; cls < classCount; cls++) {
+					if (!visitor.visitClass(getClassSrcName(cls))) continue;
+					visitDstName(visitor, MappedElementKind.CLASS, getClassDstName(cls));
+					if (!visitor.visitElementContent(MappedElementKind.CLASS)) continue;
+
+					for (int field = getFieldStart(cls), end = getFieldEnd(cls); field < end; field++) {
+						if (visitor.visitField(getFieldSrcName(field), getFieldSrcDesc(field))) {
+							visitDstName(visitor, MappedElementKind.FIELD, getFieldDstName(field));
+							visitor.visitElementContent(MappedElementKind.FIELD);
+						}
+					}
+
+					for (int method = getMethodStart(cls), end = getMethodEnd(cls); method < end; method++) {
+						if (visitor.visitMethod(getMethodSrcName(method), getMethodSrcDesc(method))) {
+							visitDstName(visitor, MappedElementKind.METHOD, getMethodDstName(method));
+							visitor.visitElementContent(MappedElementKind.METHOD);
+						}
+					}
+				}
+			}
+		} while (!visitor.visitEnd());
+	}
+
+	private static void visitDstName(MappingVisitor visitor, MappedElementKind kind, String name) throws IOException {
+		if (name != null) {
+			visitor.visitDstName(kind, 0, name);
+		}
+	}
+
+	private static final class Key {
+		final Path mappingsPath; // null for a mapping tree
+		final String sourceNamespace;
+		final String targetNamespace;
+		final long size;
+		final long lastModified;
+
+		private Key(Path mappingsPath, String sourceNamespace, String targetNamespace, long size, long lastModified) {
+			this.mappingsPath = mappingsPath;
+			this.sourceNamespace = sourceNamespace;
+			this.targetNamespace = targetNamespace;
+			this.size = size;
+			this.lastModified = lastModified;
+		}
+
+		static Key of(Path mappingsPath, String sourceNamespace, String targetNamespace) throws IOException {
+			mappingsPath = mappingsPath.toAbsolutePath().normalize();
+			return new Key(mappingsPath, sourceNamespace, targetNamespace, Files.size(mappingsPath), Files.getLastModifiedTime(mappingsPath).toMillis());
+		}
+
+		static Key ofTree(String sourceNamespace, String targetNamespace) {
+			return new Key(null, sourceNamespace, targetNamespace, 0, 0);
+		}
+
+		long getContentHash() throws IOException {
+			return mappingsPath != null ? MappingFiles.hash(mappingsPath, size, lastModified) : 0;
+		}
+
+		private String getPathString() {
+			return mappingsPath != null ? mappingsPath.toString() : "";
+		}
+
+		String getFileName() {
+			String id = mappingsPath.toString() + '\0' + sourceNamespace + '\0' + targetNamespace;
+			return String.format("%08x-%s.bin", id.hashCode(), mappingsPath.getFileName());
+		}
+
+		void write(DataOutputStream out) throws IOException {
+			out.writeUTF(getPathString());
+			out.writeUTF(sourceNamespace);
+			out.writeUTF(targetNamespace);
+			out.writeLong(size);
+			out.writeLong(lastModified);
+			out.writeLong(getContentHash());
+		}
+
+		boolean matches(ByteBuffer buffer) throws IOException {
+			if (!getPathString().equals(readUtf(buffer)) || !sourceNamespace.equals(readUtf(buffer))
+					|| !targetNamespace.equals(readUtf(buffer)) || buffer.getLong() != size) {
+				return false;
+			}
+
+			long cachedLastModified = buffer.getLong();
+			long cachedContentHash = buffer.getLong();
+			// the same version of the mapping file, or a rewrite of it with the same content
+			return cachedLastModified == lastModified || cachedContentHash == getContentHash();
+		}
+
+		private static String readUtf(ByteBuffer buffer) {
+			byte[] bytes = new byte[buffer.getShort() & 0xffff];
+			buffer.get(bytes);
+			// header strings are modified UTF-8, which only differs from UTF-8 for NUL and supplementary characters
+			return new String(bytes, StandardCharsets.UTF_8);
+		}
+
+		@Override
+		public String toString() {
+			return mappingsPath != null ? mappingsPath.toString() : "the mapping tree";
+		}
+	}
+
+	/**
+	 * Reads the names of the two namespaces of a key straight from a mapping reader, without
+	 * building a mapping tree of the whole file. Method arguments, local variables and comments
+	 * are skipped by the reader, and the names of other namespaces are dropped as they are visited.
+	 *
+	 * <p>Like a mapping tree, classes that are visited more than once are merged, and member
+	 * descriptors are remapped to the source namespace if it isn't the file's source namespace.
+	 */
+	private static final class ReadingVisitor implements MappingVisitor {
+		private static final int FILE_SOURCE = -1;
+
+		private final Key key;
+		private final Map<String, PendingClass> classes = new LinkedHashMap<>();
+		private final Map<String, String> descs = new HashMap<>();
+		private int sourceNs;
+		private int targetNs;
+		private PendingClass currentClass;
+		private String currentDesc;
+		private String sourceName;
+		private String targetName;
+
+		ReadingVisitor(Key key) {
+			this.key = key;
+		}
+
+		@Override
+		public void visitNamespaces(String srcNamespace, List<String> dstNamespaces) {
+			sourceNs = getNamespace(srcNamespace, dstNamespaces, key.sourceNamespace);
+			targetNs = getNamespace(srcNamespace, dstNamespaces, key.targetNamespace);
+		}
+
+		private int getNamespace(String srcNamespace, List<String> dstNamespaces, String namespace) {
+			if (namespace.equals(srcNamespace)) return FILE_SOURCE;
+			int index = dstNamespaces.indexOf(namespace);
+
+			if (index < 0) {
+				throw new IllegalArgumentException("Namespace '" + namespace + "' not present in " + key);
+			}
+
+			return index;
+		}
+
+		@Override
+		public boolean visitClass(String srcName) {
+			currentClass = classes.computeIfAbsent(srcName, PendingClass::new);
+			startElement(srcName);
+			return true;
+		}
+
+		@Override
+		public boolean visitField(String srcName, String srcDesc) {
+			startElement(srcName);
+			currentDesc = srcDesc != null ? descs.computeIfAbsent(srcDesc, desc -> desc) : null;
+			return true;
+		}
+
+		@Override
+		public boolean visitMethod(String srcName, String srcDesc) {
+			return visitField(srcName, srcDesc);
+		}
+
+		private void startElement(String srcName) {
+			sourceName = sourceNs == FILE_SOURCE ? srcName : null;
+			targetName = targetNs == FILE_SOURCE ? srcName : null;
+		}
+
+		@Override
+		public void visitDstName(MappedElementKind targetKind, int namespace, String name) {
+			if (namespace == sourceNs) sourceName = name;
+			if (namespace == targetNs) targetName = name;
+		}
+
+		@Override
+		public boolean visitElementContent(MappedElementKind targetKind) {
+			switch (targetKind) {
+				case CLASS:
+					if (sourceName != null) currentClass.sourceName = sourceName;
+					if (targetName != null) currentClass.targetName = targetName;
+					return true;
+				case FIELD:
+					currentClass.addMember(currentClass.fields, sourceName, currentDesc, targetName);
+					return false;
+				case METHOD:
+					currentClass.addMember(currentClass.methods, sourceName, currentDesc, targetName);
+					return false;
+				default:
+					return false;
+			}
+		}
+
+		@Override
+		public boolean visitMethodArg(int argPosition, int lvIndex, String srcName) {
+			return false;
+		}
+
+		@Override
+		public boolean visitMethodVar(int lvtRowIndex, int lvIndex, int startOpIdx, String srcName) {
+			return false;
+		}
+
+		@Override
+		public void visitComment(MappedElementKind targetKind, String comment) {
+		}
+
+		Builder toBuilder() {
+			Map<String, String> classNames = new HashMap<>();
+
+			if (sourceNs != FILE_SOURCE) {
+				for (PendingClass cls : classes.values()) {
+					if (cls.sourceName != null && !cls.sourceName.equals(cls.fileSourceName)) {
+						classNames.put(cls.fileSourceName, cls.sourceName);
+					}
+				}
+			}
+
+			Map<String, String> mappedDescs = new HashMap<>();
+			Builder builder = new Builder();
+
+			for (PendingClass cls : classes.values()) {
+				builder.addClass(cls.sourceName, cls.targetName);
+
+				for (int i = 0; i < cls.fields.size(); i += 3) {
+					builder.addField(cls.fields.get(i), mapDesc(cls.fields.get(i + 1), classNames, mappedDescs), cls.fields.get(i + 2));
+				}
+
+				for (int i = 0; i < cls.methods.size(); i += 3) {
+					builder.addMethod(cls.methods.get(i), mapDesc(cls.methods.get(i + 1), classNames, mappedDescs), cls.methods.get(i + 2));
+				}
+			}
+
+			return builder;
+		}
+
+		private static String mapDesc(String desc, Map<String, String> classNames, Map<String, String> mappedDescs) {
+			if (desc == null || classNames.isEmpty()) return desc;
+			return mappedDescs.computeIfAbsent(desc, d -> {
+				StringBuilder sb = new StringBuilder(d.length());
+				int start = 0;
+
+				for (int i = 0; i < d.length(); i++) {
+					if (d.charAt(i) != 'L') continue;
+
+					int end = d.indexOf(';', i + 1);
+					if (end < 0) break;
+
+					String name = d.substring(i + 1, end);
+					sb.append(d, start, i + 1).append(classNames.getOrDefault(name, name));
+					start = i = end;
+				}
+
+				return sb.append(d, start, d.length()).toString();
+			});
+		}
+	}
+
+	private static final class PendingClass {
+		final String fileSourceName;
+		final List<String> fields = new ArrayList<>();
+		final List<String> methods = new ArrayList<>();
+		String sourceName;
+		String targetName;
+
+		PendingClass(String fileSourceName) {
+			this.fileSourceName = fileSourceName;
+		}
+
+		void addMember(List<String> target, String name, String desc, String mapped) {
+			target.add(name);
+			target.add(desc);
+			target.add(mapped);
+		}
+	}
+
+	private static final class Builder {
+		private final Map<String, Integer> stringIds = new HashMap<>();
+		private final List<String> strings = new ArrayList<>();
+		private final IntList classes = new IntList();
+		private final IntList fields = new IntList();
+		private final IntList methods = new IntList();
+
+		void addClass(String srcName, String dstName) {
+			classes.add(id(srcName));
+			classes.add(id(dstName));
+			classes.add(fields.size() / 3);
+			classes.add(methods.size() / 3);
+		}
+
+		void addField(String srcName, String srcDesc, String dstName) {
+			addMember(fields, srcName, srcDesc, dstName);
+			classes.set(classes.size() - 2, fields.size() / 3);
+		}
+
+		void addMethod(String srcName, String srcDesc, String dstName) {
+			addMember(methods, srcName, srcDesc, dstName);
+			classes.set(classes.size() - 1, methods.size() / 3);
+		}
+
+		private void addMember(IntList target, String srcName, String srcDesc, String dstName) {
+			target.add(id(srcName));
+			target.add(id(srcDesc));
+			target.add(id(dstName));
+		}
+
+		private int id(String s) {
+			if (s == null) return NO_NAME;
+
+			Integer id = stringIds.get(s);
+
+			if (id == null) {
+				stringIds.put(s, id = strings.size());
+				strings.add(s);
+			}
+
+			return id;
+		}
+
+		void write(OutputStream os, Key key) throws IOException {
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os));
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			key.write(out);
+
+			byte[][] encoded = new byte[strings.size()][];
+			out.writeInt(encoded.length);
+			int offset = 0;
+
+			for (int i = 0; i < encoded.length; i++) {
+				encoded[i] = strings.get(i).getBytes(StandardCharsets.UTF_8);
+				out.writeInt(offset);
+				offset += encoded[i].length;
+			}
+
+			out.writeInt(offset);
+
+			for (byte[] bytes : encoded) {
+				out.write(bytes);
+			}
+
+			out.writeInt(classes.size() / 4);
+			classes.write(out);
+			out.writeInt(fields.size() / 3);
+			fields.write(out);
+			out.writeInt(methods.size() / 3);
+			methods.write(out);
+			out.flush();
+		}
+	}
+
+	private static final class IntList {
+		private int[] data = new int[64];
+		private int size;
+
+		void add(int value) {
+			if (size == data.length) {
+				int[] copy = new int[size * 2];
+				System.arraycopy(data, 0, copy, 0, size);
+				data = copy;
+			}
+
+			data[size++] = value;
+		}
+
+		void set(int index, int value) {
+			data[index] = value;
+		}
+
+		int size() {
+			return size;
+		}
+
+		void write(DataOutputStream out) throws IOException {
+			for (int i = 0; i < size; i++) {
+				out.writeInt(data[i]);
+			}
+		}
+	}
+
+	/**
+	 * A lock on the cache that is exclusive across processes and, since file locks
+	 * are held by the whole JVM, across the relocated copies of this class in each service.
+	 */
+	private static final class CacheLock implements AutoCloseable {
+		private final FileChannel channel;
+		private final FileLock lock;
+
+		private CacheLock(FileChannel channel, FileLock lock) {
+			this.channel = channel;
+			this.lock = lock;
+		}
+
+		static CacheLock acquire(Path path) throws IOException {
+			FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+
+			try {
+				while (true) {
+					try {
+						return new CacheLock(channel, channel.lock());
+					} catch (OverlappingFileLockException e) {
+						// another service in this JVM holds the lock, wait for it
+						try {
+							Thread.sleep(10);
+						} catch (InterruptedException ie) {
+							Thread.currentThread().interrupt();
+							throw new IOException("Interrupted while waiting for mapping cache lock", ie);
+						}
+					}
+				}
+			} catch (IOException | RuntimeException e) {
+				channel.close();
+				throw e;
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			try {
+				lock.release();
+			} finally {
+				channel.close();
+			}
+		}
+	}
+}
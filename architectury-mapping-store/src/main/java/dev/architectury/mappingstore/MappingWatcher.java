@@ -0,0 +1,164 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.mappingstore;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches a mapping file for changes during development sessions, and reports the new version
+ * of the mappings together with what changed since the previous one.
+ *
+ * <p>Watching is opt-in with the {@value #ENABLED_PROPERTY} system property. Listeners are called
+ * on the watcher's thread and are expected to build updated tables there and swap them in atomically,
+ * so lookups keep using the previous tables until the update is complete.
+ */
+public final class MappingWatcher implements Closeable {
+	public static final String ENABLED_PROPERTY = "architectury.mappingStore.watch";
+
+	// editors and build tools often write a file in several steps
+	private static final long DEBOUNCE_MILLIS = 250;
+
+	private final Path mappingsPath;
+	private final Listener listener;
+	private final WatchService watchService;
+	private MappingStore current; // only accessed on the watcher thread
+
+	private MappingWatcher(Path mappingsPath, MappingStore current, Listener listener, WatchService watchService) {
+		this.mappingsPath = mappingsPath;
+		this.current = current;
+		this.listener = listener;
+		this.watchService = watchService;
+	}
+
+	public static boolean isEnabled() {
+		return Boolean.getBoolean(ENABLED_PROPERTY);
+	}
+
+	/**
+	 * Starts watching the mapping file that {@code current} was opened from.
+	 *
+	 * @param name the name of the watcher thread
+	 */
+	public static MappingWatcher start(String name, Path mappingsPath, MappingStore current, Listener listener) throws IOException {
+		Path absolutePath = mappingsPath.toAbsolutePath();
+		WatchService watchService = FileSystems.getDefault().newWatchService();
+
+		try {
+			// only directories can be watched
+			absolutePath.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+		} catch (IOException | RuntimeException e) {
+			watchService.close();
+			throw e;
+		}
+
+		MappingWatcher watcher = new MappingWatcher(absolutePath, current, listener, watchService);
+		Thread thread = new Thread(watcher::run, name);
+		thread.setDaemon(true);
+		thread.start();
+		return watcher;
+	}
+
+	private void run() {
+		try {
+			while (true) {
+				if (!awaitChange(watchService.take())) continue;
+
+				// wait until the file has been quiet for a while before reading it
+				WatchKey key;
+
+				while ((key = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+					awaitChange(key);
+				}
+
+				reload();
+			}
+		} catch (ClosedWatchServiceException | InterruptedException e) {
+			// closed
+		}
+	}
+
+	// checks if the events of a key include the mapping file, and resets the key
+	private boolean awaitChange(WatchKey key) {
+		boolean changed = false;
+
+		for (WatchEvent<?> event : key.pollEvents()) {
+			// an overflow may have dropped events for the mapping file
+			if (event.kind() == StandardWatchEventKinds.OVERFLOW || mappingsPath.getFileName().equals(event.context())) {
+				changed = true;
+			}
+		}
+
+		key.reset();
+		return changed;
+	}
+
+	private void reload() {
+		long start = Profiler.start();
+
+		try {
+			MappingStore next = MappingStore.open(mappingsPath, current.getSourceNamespace(), current.getTargetNamespace());
+			MappingDiff diff = MappingDiff.of(current, next);
+
+			if (!diff.isEmpty()) {
+				listener.onReload(current, next, diff);
+			}
+
+			current = next;
+		} catch (Exception e) {
+			// keep the previous mappings, the file may still be incomplete and we'll get another event
+			listener.onFailure(e);
+		}
+
+		Profiler.phase("mappingWatcher.reload", start);
+	}
+
+	/**
+	 * Stops watching the mapping file.
+	 */
+	@Override
+	public void close() throws IOException {
+		watchService.close();
+	}
+
+	public interface Listener {
+		/**
+		 * Called with the new version of the mappings if any class changed.
+		 */
+		void onReload(MappingStore previous, MappingStore next, MappingDiff diff) throws Exception;
+
+		default void onFailure(Exception e) {
+			System.err.println("Could not reload the mappings, keeping the previous ones:");
+			e.printStackTrace();
+		}
+	}
+}
@@ -0,0 +1,104 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.mappingstore;
+
+/**
+ * A blocked Bloom filter over the keys of a {@link StringTable}, to reject names without a mapping
+ * before probing the table or running any fallback for them.
+ *
+ * <p>Each key sets four bits in a single 64-bit word, so a query reads one word, and the
+ * hashes are derived from the cached {@link String#hashCode()} of the name, so a query never reads its chars.
+ * With at least {@value #BITS_PER_KEY} bits per key, between 0.1% and 0.5% of the names without a mapping
+ * are let through, depending on how far the filter size is rounded up to a power of two.
+ * Filters are cheap to build from the hashes a table already stores, so they're not persisted.
+ *
+ * <p>Filters can be disabled with {@value #ENABLED_PROPERTY}, eg. to compare against unfiltered lookups.
+ */
+public final class NameFilter {
+	public static final String ENABLED_PROPERTY = "architectury.mappingStore.nameFilters";
+
+	private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY, "true"));
+	private static final int BITS_PER_KEY = 16;
+	private static final NameFilter ALL = new NameFilter(new long[] { -1L });
+
+	private final long[] words;
+	private final int mask;
+
+	private NameFilter(long[] words) {
+		this.words = words;
+		this.mask = words.length - 1;
+	}
+
+	/**
+	 * Creates a filter over the keys of a table with plain keys.
+	 *
+	 * @throws IllegalArgumentException if the table has composite keys
+	 */
+	public static NameFilter of(StringTable table) {
+		if (!ENABLED) return ALL;
+
+		long start = Profiler.start();
+		int minWordCount = Math.max((table.size() * BITS_PER_KEY + Long.SIZE - 1) / Long.SIZE, 1);
+		int wordCount = Integer.highestOneBit(minWordCount * 2 - 1); // rounded up to a power of two
+		long[] words = new long[wordCount];
+		int mask = wordCount - 1;
+
+		for (int entry = 0; entry < table.size(); entry++) {
+			if (table.isComposite(entry)) throw new IllegalArgumentException("Name filters only support tables with plain keys");
+
+			long hash = mix(table.getHash(entry));
+			words[(int) hash & mask] |= bits(hash);
+		}
+
+		Profiler.phase("nameFilter.build", start);
+		return new NameFilter(words);
+	}
+
+	/**
+	 * Checks if the name might be a key of the table.
+	 *
+	 * @return {@code false} if the name is definitely not a key, {@code true} if it is or for a small share of other names
+	 */
+	public boolean mightContain(String name) {
+		long hash = mix(name.hashCode());
+		long bits = bits(hash);
+		return (words[(int) hash & mask] & bits) == bits;
+	}
+
+	// the word is picked by the low bits of the hash, the bits within it by four 6-bit slices of the high bits
+	private static long bits(long hash) {
+		return 1L << (hash >>> 40) | 1L << (hash >>> 46) | 1L << (hash >>> 52) | 1L << (hash >>> 58);
+	}
+
+	// murmur3's finalizer, spreads the poorly distributed string hashes of similar names over all 64 bits
+	private static long mix(int hash) {
+		long h = hash;
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		return h;
+	}
+}
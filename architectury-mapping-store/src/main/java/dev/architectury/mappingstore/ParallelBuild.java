@@ -0,0 +1,113 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.mappingstore;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+
+/**
+ * Builds lookup tables from large mapping sets on the common fork/join pool.
+ *
+ * <p>The input range is split into partitions that are built independently and then combined
+ * pairwise, always merging the later partition into the earlier one. As long as the combiner
+ * applies the later partition's entries as if they had been added after the earlier partition's,
+ * the result is identical to building the whole range sequentially.
+ */
+public final class ParallelBuild {
+	public static final String PARALLEL_PROPERTY = "architectury.mappingStore.parallelBuild";
+
+	private static final boolean ENABLED = !"false".equals(System.getProperty(PARALLEL_PROPERTY));
+
+	private ParallelBuild() {
+	}
+
+	/**
+	 * Builds a table over the range {@code [0, size)}. Small ranges, or all ranges
+	 * if parallel building is disabled or there is only one core, are built sequentially.
+	 *
+	 * @param partitionSize the largest range that is built without splitting it further
+	 * @param builder builds the partition for a range
+	 * @param combiner merges the second partition into the first, and returns the result
+	 */
+	public static <P> P build(int size, int partitionSize, PartitionBuilder<P> builder, BinaryOperator<P> combiner) {
+		if (!ENABLED || size <= partitionSize || ForkJoinPool.getCommonPoolParallelism() <= 1) {
+			return builder.build(0, size);
+		}
+
+		return ForkJoinPool.commonPool().invoke(new BuildTask<>(0, size, partitionSize, builder, combiner));
+	}
+
+	/**
+	 * Processes the range {@code [0, size)} in partitions, under the same conditions as {@link #build}.
+	 * Used for large batches of lookups, where each partition writes its own part of the results.
+	 */
+	public static void run(int size, int partitionSize, RangeTask task) {
+		build(size, partitionSize, (start, end) -> {
+			task.run(start, end);
+			return null;
+		}, (first, second) -> null);
+	}
+
+	@FunctionalInterface
+	public interface RangeTask {
+		void run(int start, int end);
+	}
+
+	@FunctionalInterface
+	public interface PartitionBuilder<P> {
+		P build(int start, int end);
+	}
+
+	private static final class BuildTask<P> extends RecursiveTask<P> {
+		private static final long serialVersionUID = 1L;
+
+		private final int start;
+		private final int end;
+		private final int partitionSize;
+		private final PartitionBuilder<P> builder;
+		private final BinaryOperator<P> combiner;
+
+		BuildTask(int start, int end, int partitionSize, PartitionBuilder<P> builder, BinaryOperator<P> combiner) {
+			this.start = start;
+			this.end = end;
+			this.partitionSize = partitionSize;
+			this.builder = builder;
+			this.combiner = combiner;
+		}
+
+		@Override
+		protected P compute() {
+			if (end - start <= partitionSize) {
+				return builder.build(start, end);
+			}
+
+			int middle = (start + end) >>> 1;
+			BuildTask<P> second = new BuildTask<>(middle, end, partitionSize, builder, combiner);
+			second.fork();
+			P first = new BuildTask<>(start, middle, partitionSize, builder, combiner).compute();
+			return combiner.apply(first, second.join());
+		}
+	}
+}
@@ -0,0 +1,219 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.mappingstore;
+
+import java.util.Arrays;
+
+/**
+ * A minimal perfect hash of entry hashes, built with the CHD algorithm (compress, hash and displace).
+ *
+ * <p>Hashes are split into small buckets, and every bucket gets a displacement that places all of its
+ * hashes at distinct, free positions. A hash is then found at exactly one position, computed from the
+ * displacement of its bucket, which takes a single read besides the entry itself. With an average of
+ * {@value #BUCKET_SIZE} hashes per bucket, the displacements take one int per {@value #BUCKET_SIZE} entries.
+ *
+ * <p>Buckets of a single hash are placed last and store their position instead of a displacement,
+ * so the last free positions don't have to be searched for.
+ *
+ * <p>Entries with the hash of another entry can't be placed apart, those are left to the caller.
+ */
+final class PerfectHash {
+	private static final int BUCKET_SIZE = 4;
+	// buckets that can't be placed within this many displacements are very unlikely, the caller falls back to probing
+	private static final int MAX_DISPLACEMENTS = 1 << 20;
+	private static final int GOLDEN_RATIO = 0x9e3779b9;
+
+	final int[] displacements;
+	// the entry at each position, followed by the entries whose hash another entry has
+	final int[] order;
+	final int size;
+
+	private PerfectHash(int[] displacements, int[] order, int size) {
+		this.displacements = displacements;
+		this.order = order;
+		this.size = size;
+	}
+
+	/**
+	 * Gets the only position a hash can be at.
+	 */
+	static int position(int[] displacements, int size, int hash) {
+		int displacement = displacements[bucket(hash, displacements.length)];
+		return displacement < 0 ? ~displacement : reduce(mix(hash ^ displacement * GOLDEN_RATIO), size);
+	}
+
+	private static int bucket(int hash, int bucketCount) {
+		return reduce(hash * GOLDEN_RATIO, bucketCount);
+	}
+
+	/**
+	 * Builds a perfect hash of the hashes of {@code count} entries.
+	 *
+	 * @return the perfect hash, or {@code null} if it couldn't be built
+	 */
+	static PerfectHash build(int[] hashes, int count) {
+		int bucketCount = (count + BUCKET_SIZE - 1) / BUCKET_SIZE;
+		int[] bucketStarts = new int[bucketCount + 1];
+
+		for (int entry = 0; entry < count; entry++) {
+			bucketStarts[bucket(hashes[entry], bucketCount) + 1]++;
+		}
+
+		for (int bucket = 0; bucket < bucketCount; bucket++) {
+			bucketStarts[bucket + 1] += bucketStarts[bucket];
+		}
+
+		int[] bucketEntries = new int[count];
+		int[] bucketLengths = new int[bucketCount];
+
+		for (int entry = 0; entry < count; entry++) {
+			int bucket = bucket(hashes[entry], bucketCount);
+			bucketEntries[bucketStarts[bucket] + bucketLengths[bucket]++] = entry;
+		}
+
+		// Entries sharing a hash are in the same bucket. All but the first are moved after the placed
+		// entries, and the buckets are grouped by length to place the largest first, while most positions are free.
+		int[] order = new int[count];
+		int shared = count;
+		int maxLength = 0;
+
+		for (int bucket = 0; bucket < bucketCount; bucket++) {
+			int start = bucketStarts[bucket];
+			int length = 0;
+
+			for (int i = start; i < bucketStarts[bucket + 1]; i++) {
+				if (containsHash(hashes, bucketEntries, start, length, hashes[bucketEntries[i]])) {
+					order[--shared] = bucketEntries[i];
+				} else {
+					bucketEntries[start + length++] = bucketEntries[i];
+				}
+			}
+
+			bucketLengths[bucket] = length;
+			maxLength = Math.max(maxLength, length);
+		}
+
+		int size = shared;
+		if (size == 0) return null;
+
+		int[] lengthStarts = new int[maxLength + 2];
+
+		for (int bucket = 0; bucket < bucketCount; bucket++) {
+			lengthStarts[maxLength - bucketLengths[bucket] + 1]++;
+		}
+
+		for (int i = 0; i <= maxLength; i++) {
+			lengthStarts[i + 1] += lengthStarts[i];
+		}
+
+		int[] placementOrder = new int[bucketCount];
+
+		for (int bucket = 0; bucket < bucketCount; bucket++) {
+			placementOrder[lengthStarts[maxLength - bucketLengths[bucket]]++] = bucket;
+		}
+
+		int[] displacements = new int[bucketCount];
+		Arrays.fill(order, 0, size, -1);
+		int[] positions = new int[maxLength];
+
+		int freePosition = 0;
+
+		for (int bucket : placementOrder) {
+			int start = bucketStarts[bucket];
+			int length = bucketLengths[bucket];
+
+			if (length == 1) {
+				// a single entry can take any free position, which is stored instead of a displacement
+				while (order[freePosition] >= 0) {
+					freePosition++;
+				}
+
+				displacements[bucket] = ~freePosition;
+				order[freePosition] = bucketEntries[start];
+				continue;
+			} else if (length == 0) {
+				break; // the remaining buckets are empty too
+			}
+
+			int displacement = findDisplacement(hashes, bucketEntries, start, length, order, size, positions);
+			if (displacement == -1) return null;
+
+			displacements[bucket] = displacement;
+
+			for (int i = 0; i < length; i++) {
+				order[positions[i]] = bucketEntries[start + i];
+			}
+		}
+
+		return new PerfectHash(displacements, order, size);
+	}
+
+	private static boolean containsHash(int[] hashes, int[] entries, int start, int length, int hash) {
+		for (int i = start; i < start + length; i++) {
+			if (hashes[entries[i]] == hash) return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Finds the first displacement that places every entry of a bucket at a distinct free position.
+	 *
+	 * @param placed the entry at each position, or {@code -1} for free positions
+	 * @return the displacement, whose positions are left in {@code positions}, or {@code -1} if there is none
+	 */
+	private static int findDisplacement(int[] hashes, int[] bucketEntries, int start, int length, int[] placed, int size, int[] positions) {
+		search:
+		for (int displacement = 0; displacement < MAX_DISPLACEMENTS; displacement++) {
+			for (int i = 0; i < length; i++) {
+				int position = reduce(mix(hashes[bucketEntries[start + i]] ^ displacement * GOLDEN_RATIO), size);
+				if (placed[position] >= 0) continue search;
+
+				for (int j = 0; j < i; j++) {
+					if (positions[j] == position) continue search;
+				}
+
+				positions[i] = position;
+			}
+
+			return displacement;
+		}
+
+		return -1;
+	}
+
+	// maps a uniformly distributed hash to [0, n) using its high bits
+	private static int reduce(int hash, int n) {
+		return (int) (((hash & 0xffffffffL) * n) >>> 32);
+	}
+
+	// the finalizer of MurmurHash3, so that positions of different displacements are unrelated
+	private static int mix(int hash) {
+		hash ^= hash >>> 16;
+		hash *= 0x85ebca6b;
+		hash ^= hash >>> 13;
+		hash *= 0xc2b2ae35;
+		return hash ^ hash >>> 16;
+	}
+}
@@ -0,0 +1,401 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.mappingstore;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in instrumentation of the runtime services, enabled with {@value #ENABLED_PROPERTY}.
+ *
+ * <p>Records the time spent loading mappings and building tables, lookup counts, hit ratios and latencies
+ * per domain, how many misses name filters rejected, the depth of hierarchy walks and ambiguous lookups. Phases, hierarchy walks and ambiguous
+ * lookups are also emitted as JFR events when the JVM supports them. A JSON summary is written to
+ * {@value #OUTPUT_DIR_PROPERTY} (default {@code architectury-profile} in the working directory)
+ * when the JVM shuts down.
+ *
+ * <p>When disabled, every recording method returns immediately on a constant check that the JIT folds away.
+ */
+public final class Profiler {
+	public static final String ENABLED_PROPERTY = "architectury.profiler.enabled";
+	public static final String OUTPUT_DIR_PROPERTY = "architectury.profiler.outputDir";
+
+	public static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY);
+
+	private static final Map<String, Timer> PHASES = new ConcurrentSkipListMap<>();
+	private static final Map<String, LookupStats> LOOKUPS = new ConcurrentHashMap<>();
+	private static final Map<String, Histogram> HIERARCHY_WALKS = new ConcurrentSkipListMap<>();
+	private static final Map<String, LongAdder> AMBIGUOUS_LOOKUPS = new ConcurrentSkipListMap<>();
+	private static final JfrEvents JFR = ENABLED ? JfrEvents.create() : null;
+
+	static {
+		if (ENABLED) {
+			Runtime.getRuntime().addShutdownHook(new Thread(Profiler::writeReport, "Architectury Profiler Report"));
+		}
+	}
+
+	private Profiler() {
+	}
+
+	/**
+	 * Gets the start time to pass to {@link #phase} or {@link LookupStats#record}, or 0 when disabled.
+	 */
+	public static long start() {
+		return ENABLED ? System.nanoTime() : 0L;
+	}
+
+	/**
+	 * Records a phase, eg. loading the mappings, that started at {@code start}.
+	 * Phases with the same name are accumulated.
+	 */
+	public static void phase(String name, long start) {
+		if (!ENABLED) return;
+		long elapsed = System.nanoTime() - start;
+		PHASES.computeIfAbsent(name, k -> new Timer()).record(elapsed);
+		if (JFR != null) JFR.phase(name, elapsed);
+	}
+
+	/**
+	 * Gets the lookup statistics of a domain, eg. {@code naming.class}. Meant to be stored in a static field.
+	 */
+	public static LookupStats lookups(String domain) {
+		return LOOKUPS.computeIfAbsent(domain, k -> new LookupStats());
+	}
+
+	/**
+	 * Records a hierarchy walk that visited {@code depth} classes.
+	 */
+	public static void hierarchyWalk(String kind, String owner, String name, int depth) {
+		if (!ENABLED) return;
+		HIERARCHY_WALKS.computeIfAbsent(kind, k -> Histogram.linear()).record(depth);
+		if (JFR != null) JFR.hierarchyWalk(kind, owner, name, depth);
+	}
+
+	public static void ambiguousLookup(String kind, String name, String desc) {
+		if (!ENABLED) return;
+		AMBIGUOUS_LOOKUPS.computeIfAbsent(kind, k -> new LongAdder()).increment();
+		if (JFR != null) JFR.ambiguousLookup(kind, name, desc);
+	}
+
+	public static final class LookupStats {
+		private final LongAdder hits = new LongAdder();
+		private final LongAdder misses = new LongAdder();
+		private final LongAdder rejected = new LongAdder();
+		private final Histogram latencies = Histogram.log2();
+
+		private LookupStats() {
+		}
+
+		/**
+		 * Records a lookup that started at {@code start}.
+		 *
+		 * @param hit whether there was a mapping for the looked up name
+		 */
+		public void record(boolean hit, long start) {
+			if (!ENABLED) return;
+			(hit ? hits : misses).increment();
+			latencies.record(System.nanoTime() - start);
+		}
+
+		/**
+		 * Records a lookup that started at {@code start} and was rejected by a {@link NameFilter}.
+		 */
+		public void recordRejected(long start) {
+			if (!ENABLED) return;
+			rejected.increment();
+			record(false, start);
+		}
+	}
+
+	private static final class Timer {
+		private final LongAdder count = new LongAdder();
+		private final LongAdder total = new LongAdder();
+		private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+		void record(long nanos) {
+			count.increment();
+			total.add(nanos);
+			max.accumulate(nanos);
+		}
+	}
+
+	/**
+	 * A histogram with 64 buckets, either exact for small values or one per power of two.
+	 */
+	private static final class Histogram {
+		private static final int BUCKETS = 64;
+
+		private final boolean log2;
+		private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+		private final LongAdder total = new LongAdder();
+		private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+		private Histogram(boolean log2) {
+			this.log2 = log2;
+		}
+
+		static Histogram linear() {
+			return new Histogram(false);
+		}
+
+		static Histogram log2() {
+			return new Histogram(true);
+		}
+
+		void record(long value) {
+			value = Math.max(value, 0);
+			int bucket = log2 ? BUCKETS - Long.numberOfLeadingZeros(value) : (int) Math.min(value, BUCKETS - 1);
+			buckets.incrementAndGet(Math.min(bucket, BUCKETS - 1));
+			total.add(value);
+			max.accumulate(value);
+		}
+
+		long count() {
+			long count = 0;
+
+			for (int i = 0; i < BUCKETS; i++) {
+				count += buckets.get(i);
+			}
+
+			return count;
+		}
+
+		/**
+		 * Writes the non-empty buckets, keyed by their inclusive upper bound
+		 * (or the last exact value, plus {@code +} for the overflow bucket).
+		 */
+		void writeBuckets(Json json) {
+			json.beginObject();
+
+			for (int i = 0; i < BUCKETS; i++) {
+				long count = buckets.get(i);
+				if (count == 0) continue;
+				String bound;
+
+				if (log2) {
+					bound = i == 0 ? "0" : Long.toString(i == BUCKETS - 1 ? Long.MAX_VALUE : (1L << i) - 1);
+				} else {
+					bound = i == BUCKETS - 1 ? i + "+" : Integer.toString(i);
+				}
+
+				json.name(bound).value(count);
+			}
+
+			json.endObject();
+		}
+	}
+
+	private static void writeReport() {
+		String outputDir = System.getProperty(OUTPUT_DIR_PROPERTY, "architectury-profile");
+		// Every service shades its own copy of this class, so the report is named after the copy that wrote it
+		Path path = Paths.get(outputDir, "profile-" + getProcessId() + "-" + getComponentName() + ".json");
+
+		try {
+			Files.createDirectories(path.toAbsolutePath().getParent());
+
+			try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+				writer.write(createReport());
+			}
+		} catch (IOException e) {
+			// runs in a shutdown hook, where loggers may already be shut down
+			System.err.println("Could not write profile report to " + path + ":");
+			e.printStackTrace();
+		}
+	}
+
+	private static String getProcessId() {
+		String name = ManagementFactory.getRuntimeMXBean().getName(); // pid@host
+		int at = name.indexOf('@');
+		return at > 0 ? name.substring(0, at) : name;
+	}
+
+	private static String getComponentName() {
+		String name = Profiler.class.getName();
+		String prefix = "dev.architectury.";
+		int end = name.indexOf('.', prefix.length());
+		return name.startsWith(prefix) && end > 0 ? name.substring(prefix.length(), end) : "runtime";
+	}
+
+	static String createReport() {
+		Json json = new Json();
+		json.beginObject();
+
+		json.name("phases").beginObject();
+
+		for (Map.Entry<String, Timer> entry : PHASES.entrySet()) {
+			Timer timer = entry.getValue();
+			json.name(entry.getKey()).beginObject()
+					.name("count").value(timer.count.sum())
+					.name("totalNanos").value(timer.total.sum())
+					.name("maxNanos").value(timer.max.get())
+					.endObject();
+		}
+
+		json.endObject();
+		json.name("lookups").beginObject();
+
+		for (Map.Entry<String, LookupStats> entry : new ConcurrentSkipListMap<>(LOOKUPS).entrySet()) {
+			LookupStats stats = entry.getValue();
+			long hits = stats.hits.sum();
+			long misses = stats.misses.sum();
+			long rejected = stats.rejected.sum();
+			long count = hits + misses;
+			if (count == 0) continue;
+
+			json.name(entry.getKey()).beginObject()
+					.name("count").value(count)
+					.name("hits").value(hits)
+					.name("misses").value(misses)
+					.name("hitRatio").value((double) hits / count)
+					.name("filterRejected").value(rejected)
+					// misses the filter let through, its false positive rate for domains looked up by exact key
+					.name("filterFalsePositiveRate").value(misses > 0 && rejected > 0 ? (double) (misses - rejected) / misses : Double.NaN)
+					.name("totalNanos").value(stats.latencies.total.sum())
+					.name("maxNanos").value(stats.latencies.max.get())
+					.name("latencyNanos");
+			stats.latencies.writeBuckets(json);
+			json.endObject();
+		}
+
+		json.endObject();
+		json.name("hierarchyWalks").beginObject();
+
+		for (Map.Entry<String, Histogram> entry : HIERARCHY_WALKS.entrySet()) {
+			Histogram depths = entry.getValue();
+			json.name(entry.getKey()).beginObject()
+					.name("count").value(depths.count())
+					.name("totalDepth").value(depths.total.sum())
+					.name("maxDepth").value(depths.max.get())
+					.name("depths");
+			depths.writeBuckets(json);
+			json.endObject();
+		}
+
+		json.endObject();
+		json.name("ambiguousLookups").beginObject();
+
+		for (Map.Entry<String, LongAdder> entry : AMBIGUOUS_LOOKUPS.entrySet()) {
+			json.name(entry.getKey()).value(entry.getValue().sum());
+		}
+
+		json.endObject();
+		json.endObject();
+		return json.toString();
+	}
+
+	/**
+	 * A minimal pretty-printing JSON writer, so the report doesn't need a JSON library on the classpath.
+	 */
+	private static final class Json {
+		private final StringBuilder sb = new StringBuilder();
+		private int depth;
+		private boolean first = true;
+
+		Json beginObject() {
+			beforeValue();
+			sb.append('{');
+			depth++;
+			first = true;
+			return this;
+		}
+
+		Json endObject() {
+			depth--;
+
+			if (!first) {
+				newLine();
+			}
+
+			sb.append('}');
+			first = false;
+			return this;
+		}
+
+		Json name(String name) {
+			if (!first) sb.append(',');
+			newLine();
+			string(name);
+			sb.append(": ");
+			return this;
+		}
+
+		Json value(long value) {
+			beforeValue();
+			sb.append(value);
+			return this;
+		}
+
+		Json value(double value) {
+			beforeValue();
+			sb.append(Double.isFinite(value) ? Double.toString(value) : "null");
+			return this;
+		}
+
+		private void beforeValue() {
+			first = false;
+		}
+
+		private void newLine() {
+			sb.append('\n');
+
+			for (int i = 0; i < depth; i++) {
+				sb.append('\t');
+			}
+		}
+
+		private void string(String s) {
+			sb.append('"');
+
+			for (int i = 0; i < s.length(); i++) {
+				char c = s.charAt(i);
+
+				if (c == '"' || c == '\\') {
+					sb.append('\\').append(c);
+				} else if (c < 0x20) {
+					sb.append(String.format("\\u%04x", (int) c));
+				} else {
+					sb.append(c);
+				}
+			}
+
+			sb.append('"');
+		}
+
+		@Override
+		public String toString() {
+			return sb + "\n";
+		}
+	}
+}
@@ -0,0 +1,118 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.mappingstore;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Class-data-sharing archives of the classes of the runtime services.
+ *
+ * <p>Every launch loads and verifies the classes of the services, including their relocated copy of mapping-io,
+ * from scratch. The {@code sharedClassList} task of each service records the classes a training run of the service
+ * loads in a class list, and {@link #dump} turns a class list into an archive the JVM maps these classes from,
+ * already parsed and verified.
+ * An archive is specific to the JVM that dumped it and to its class path, which the class path of a launch
+ * has to start with. Next to the archive, {@link #dump} writes a JVM argument file with the options using it,
+ * which launches opt in to by passing {@code @<archive>.args} to {@code java}, eg. {@code java @naming.jsa.args -cp ...}.
+ *
+ * <p>Archives of application classes need Java 10 or newer, and only cover classes loaded by the application
+ * class loader. Classes defined by other class loaders, like ModLauncher's module layers, are loaded as usual.
+ */
+public final class SharedArchive {
+	private SharedArchive() {
+	}
+
+	/**
+	 * Checks if the running JVM can dump and use archives of application classes.
+	 */
+	public static boolean isSupported() {
+		String version = System.getProperty("java.specification.version");
+		// 1.8 and older, then only the feature version since Java 9
+		return !version.startsWith("1.") && Integer.parseInt(version) >= 10;
+	}
+
+	/**
+	 * Gets the JVM argument file written next to an archive by {@link #dump}.
+	 */
+	public static Path getArgumentFile(Path archive) {
+		return archive.resolveSibling(archive.getFileName() + ".args");
+	}
+
+	/**
+	 * Dumps an archive of the classes of a class list with the running JVM,
+	 * and writes its {@linkplain #getArgumentFile argument file}.
+	 *
+	 * @param classPath the class path of the launches using the archive, or the start of it
+	 * @throws IOException if the running JVM can't dump archives of application classes, or dumping failed
+	 */
+	public static void dump(Path classList, Path archive, String classPath) throws IOException {
+		if (!isSupported()) {
+			throw new IOException("Archives of application classes need Java 10 or newer, running " + System.getProperty("java.version"));
+		}
+
+		Files.createDirectories(archive.toAbsolutePath().getParent());
+		Process process = new ProcessBuilder(Paths.get(System.getProperty("java.home"), "bin", "java").toString(), "-Xshare:dump",
+				"-XX:SharedClassListFile=" + classList.toAbsolutePath(), "-XX:SharedArchiveFile=" + archive.toAbsolutePath(), "-cp", classPath)
+				.redirectErrorStream(true)
+				.start();
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		try (InputStream in = process.getInputStream()) {
+			byte[] buffer = new byte[8192];
+			int read;
+
+			while ((read = in.read(buffer)) != -1) {
+				output.write(buffer, 0, read);
+			}
+		}
+
+		try {
+			if (process.waitFor() != 0) {
+				throw new IOException("Could not dump the archive " + archive + ":\n" + new String(output.toByteArray(), StandardCharsets.UTF_8));
+			}
+		} catch (InterruptedException e) {
+			process.destroy();
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while dumping the archive " + archive, e);
+		}
+
+		writeArgumentFile(archive);
+	}
+
+	private static void writeArgumentFile(Path archive) throws IOException {
+		// quoted for paths with spaces, where backslashes are escapes
+		String path = archive.toAbsolutePath().toString().replace("\\", "\\\\");
+		// an archive that doesn't match the launch, like after an update of the services, is ignored
+		List<String> lines = Arrays.asList("\"-XX:SharedArchiveFile=" + path + "\"", "-Xshare:auto");
+		Files.write(getArgumentFile(archive), lines, StandardCharsets.UTF_8);
+	}
+}
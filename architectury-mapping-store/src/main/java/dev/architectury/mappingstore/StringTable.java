@@ -0,0 +1,778 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.mappingstore;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+
+/**
+ * An immutable, compact map from strings to strings.
+ *
+ * <p>Keys are copied into a single char pool and found through a flat open-addressing slot array,
+ * so there are no per-entry node or key objects. Values are deduplicated, so every lookup resolving
+ * to an equal name returns the same instance. Tables are created with a {@link Builder}.
+ *
+ * <p>Besides plain keys, a table can hold composite keys made of two or three strings, such as a member
+ * name and its descriptor. Those are hashed from the cached hash codes of all parts and compared part by
+ * part, so looking them up never concatenates the parts into a new string.
+ *
+ * <p>Tables of key sets that are looked up far more often than they change, like class names, can be built
+ * with a {@linkplain Builder#buildPerfect() minimal perfect hash} instead, which finds every key with a single
+ * probe and leaves no free slots.
+ */
+public final class StringTable {
+	// Separates the parts of composite keys in the char pool, it can't occur in names or descriptors
+	private static final char PART_SEPARATOR = '\0';
+
+	private final int[] slots; // of every entry, or only of the ones without a perfect position
+	private final int mask;
+	private final int[] displacements; // null unless the table is addressed by a perfect hash
+	private final int perfectSize; // the entries before this have a perfect position
+	private final int[] hashes;
+	private final int[] keyOffsets;
+	private final char[] keyChars;
+	private final int[] values;
+	private final String[] valuePool;
+	private final int size;
+
+	private StringTable(int[] slots, int[] displacements, int perfectSize, int[] hashes, int[] keyOffsets, char[] keyChars, int[] values, String[] valuePool) {
+		this.slots = slots;
+		this.mask = slots.length - 1;
+		this.displacements = displacements;
+		this.perfectSize = perfectSize;
+		this.size = hashes.length;
+		this.hashes = hashes;
+		this.keyOffsets = keyOffsets;
+		this.keyChars = keyChars;
+		this.values = values;
+		this.valuePool = valuePool;
+	}
+
+	private StringTable(Builder builder) {
+		if (builder.removed > 0) {
+			builder.compact();
+		}
+
+		// copy everything, so the builder can keep being used
+		this.slots = builder.slots.clone();
+		this.mask = slots.length - 1;
+		this.displacements = null;
+		this.perfectSize = 0;
+		this.size = builder.size;
+		this.hashes = Arrays.copyOf(builder.hashes, size);
+		this.keyOffsets = Arrays.copyOf(builder.keyOffsets, size + 1);
+		this.keyChars = Arrays.copyOf(builder.keyChars, keyOffsets[size]);
+		this.values = Arrays.copyOf(builder.values, size);
+		this.valuePool = Arrays.copyOf(builder.valuePool, builder.valueIds.size());
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public String get(String key) {
+		return getOrDefault(key, null);
+	}
+
+	public String getOrDefault(String key, String defaultValue) {
+		int entry = find(key.hashCode(), key, null, null);
+		return entry >= 0 ? valuePool[values[entry]] : defaultValue;
+	}
+
+	public boolean containsKey(String key) {
+		return find(key.hashCode(), key, null, null) >= 0;
+	}
+
+	/**
+	 * Gets the value of the key in a region of {@code chars}, like {@code get(chars.substring(offset, offset + length))}
+	 * without copying the region.
+	 */
+	public String get(String chars, int offset, int length) {
+		int hash = 0;
+
+		// String#hashCode of the region
+		for (int i = offset; i < offset + length; i++) {
+			hash = 31 * hash + chars.charAt(i);
+		}
+
+		int entry = findRegion(hash, chars, offset, length);
+		return entry >= 0 ? valuePool[values[entry]] : null;
+	}
+
+	/**
+	 * Gets the value of a composite key.
+	 */
+	public String get(String first, String second) {
+		int entry = find(hash(first, second), first, second, null);
+		return entry >= 0 ? valuePool[values[entry]] : null;
+	}
+
+	/**
+	 * Gets the value of a composite key with three parts.
+	 */
+	public String get(String first, String second, String third) {
+		int entry = find(hash(first, second, third), first, second, third);
+		return entry >= 0 ? valuePool[values[entry]] : null;
+	}
+
+	/**
+	 * Returns a copy of this table without the keys of {@code removed} and with the entries of {@code added},
+	 * which wins over the remaining entries. The copy is addressed like this table.
+	 */
+	public StringTable update(Builder removed, Builder added) {
+		Builder builder = new Builder(this);
+		builder.removeAll(removed);
+		builder.merge(added, (current, later) -> later);
+		return displacements != null ? builder.buildPerfect() : builder.build();
+	}
+
+	/**
+	 * Checks if both tables map the same keys to equal values, however their entries are ordered and addressed.
+	 */
+	public boolean contentEquals(StringTable other) {
+		if (size != other.size) return false;
+
+		for (int entry = 0; entry < size; entry++) {
+			String[] parts = getKeyParts(entry);
+			int otherEntry = other.find(hashes[entry], parts[0], parts.length > 1 ? parts[1] : null, parts.length > 2 ? parts[2] : null);
+
+			// keys are unique, so finding every key of this table in the other one leaves no other keys there
+			if (otherEntry < 0 || !valuePool[values[entry]].equals(other.valuePool[other.values[otherEntry]])) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private String[] getKeyParts(int entry) {
+		String[] parts = new String[3];
+		int count = 0;
+		int start = keyOffsets[entry];
+
+		for (int i = start; i < keyOffsets[entry + 1]; i++) {
+			if (keyChars[i] == PART_SEPARATOR) {
+				parts[count++] = new String(keyChars, start, i - start);
+				start = i + 1;
+			}
+		}
+
+		parts[count++] = new String(keyChars, start, keyOffsets[entry + 1] - start);
+		return Arrays.copyOf(parts, count);
+	}
+
+	// the hash of an entry, which is the hash code of its key unless it's composite
+	int getHash(int entry) {
+		return hashes[entry];
+	}
+
+	boolean isComposite(int entry) {
+		for (int i = keyOffsets[entry]; i < keyOffsets[entry + 1]; i++) {
+			if (keyChars[i] == PART_SEPARATOR) return true;
+		}
+
+		return false;
+	}
+
+	private static int hash(String first, String second) {
+		return first.hashCode() * 31 + second.hashCode();
+	}
+
+	private static int hash(String first, String second, String third) {
+		return hash(first, second) * 31 + third.hashCode();
+	}
+
+	private int find(int hash, String first, String second, String third) {
+		if (displacements == null) {
+			return find(slots, mask, hashes, keyOffsets, keyChars, hash, first, second, third);
+		}
+
+		// the only entry with this hash, unless other keys have it too
+		int entry = PerfectHash.position(displacements, perfectSize, hash);
+
+		if (hashes[entry] != hash) {
+			return -1;
+		} else if (keyEquals(keyOffsets, keyChars, entry, first, second, third)) {
+			return entry;
+		}
+
+		return find(slots, mask, hashes, keyOffsets, keyChars, hash, first, second, third);
+	}
+
+	private int findRegion(int hash, String chars, int offset, int length) {
+		if (displacements != null) {
+			int entry = PerfectHash.position(displacements, perfectSize, hash);
+
+			if (hashes[entry] != hash) {
+				return -1;
+			} else if (regionKeyEquals(entry, chars, offset, length)) {
+				return entry;
+			}
+		}
+
+		for (int slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+			int entry = slots[slot] - 1;
+
+			if (entry < 0) {
+				return -1;
+			} else if (hashes[entry] == hash && regionKeyEquals(entry, chars, offset, length)) {
+				return entry;
+			}
+		}
+	}
+
+	private boolean regionKeyEquals(int entry, String chars, int offset, int length) {
+		int entryOffset = keyOffsets[entry];
+		if (keyOffsets[entry + 1] - entryOffset != length) return false;
+
+		for (int i = 0; i < length; i++) {
+			if (keyChars[entryOffset + i] != chars.charAt(offset + i)) return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Finds the entry of a key made of the non-null parts.
+	 *
+	 * @return the entry index, or {@code -1} if the key is absent
+	 */
+	private static int find(int[] slots, int mask, int[] hashes, int[] keyOffsets, char[] keyChars, int hash, String first, String second, String third) {
+		for (int slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+			int entry = slots[slot] - 1;
+
+			if (entry < 0) {
+				return -1;
+			} else if (hashes[entry] == hash && keyEquals(keyOffsets, keyChars, entry, first, second, third)) {
+				return entry;
+			}
+		}
+	}
+
+	private static boolean keyEquals(int[] keyOffsets, char[] keyChars, int entry, String first, String second, String third) {
+		int offset = keyOffsets[entry];
+		int length = keyOffsets[entry + 1] - offset;
+
+		if (length != keyLength(first, second, third) || !regionEquals(keyChars, offset, first)) {
+			return false;
+		}
+
+		if (second != null) {
+			offset += first.length();
+			if (keyChars[offset++] != PART_SEPARATOR || !regionEquals(keyChars, offset, second)) return false;
+
+			if (third != null) {
+				offset += second.length();
+				return keyChars[offset++] == PART_SEPARATOR && regionEquals(keyChars, offset, third);
+			}
+		}
+
+		return true;
+	}
+
+	private static int keyLength(String first, String second, String third) {
+		int length = first.length();
+		if (second != null) length += 1 + second.length();
+		if (third != null) length += 1 + third.length();
+		return length;
+	}
+
+	private static boolean regionEquals(char[] chars, int offset, String s) {
+		for (int i = 0; i < s.length(); i++) {
+			if (chars[offset + i] != s.charAt(i)) return false;
+		}
+
+		return true;
+	}
+
+	private static int spread(int hash) {
+		return hash ^ (hash >>> 16);
+	}
+
+	/**
+	 * Writes the table as-is, including its slot array, so that reading it back doesn't rehash any key.
+	 */
+	void write(DataOutputStream out) throws IOException {
+		out.writeInt(slots.length);
+		out.writeInt(size);
+		out.writeInt(keyChars.length);
+		out.writeInt(valuePool.length);
+		out.writeInt(displacements != null ? displacements.length : 0);
+		out.writeInt(perfectSize);
+		writeInts(out, slots);
+		if (displacements != null) writeInts(out, displacements);
+		writeInts(out, hashes);
+		writeInts(out, keyOffsets);
+		out.writeChars(new String(keyChars));
+		writeInts(out, values);
+
+		for (String value : valuePool) {
+			out.writeInt(value.length());
+			out.writeChars(value);
+		}
+	}
+
+	private static void writeInts(DataOutputStream out, int[] ints) throws IOException {
+		for (int i : ints) {
+			out.writeInt(i);
+		}
+	}
+
+	/**
+	 * Reads a table written by {@link #write}, advancing the buffer past it.
+	 */
+	static StringTable read(ByteBuffer buffer) {
+		int slotCount = buffer.getInt();
+		int size = buffer.getInt();
+		int charCount = buffer.getInt();
+		int valueCount = buffer.getInt();
+		int displacementCount = buffer.getInt();
+		int perfectSize = buffer.getInt();
+
+		if (Integer.bitCount(slotCount) != 1 || size < 0 || size - perfectSize >= slotCount || charCount < 0 || valueCount < 0
+				|| displacementCount < 0 || perfectSize < 0 || perfectSize > size || (displacementCount == 0) != (perfectSize == 0)) {
+			throw new IllegalArgumentException("Invalid string table header");
+		}
+
+		int[] slots = readInts(buffer, slotCount);
+		int[] displacements = displacementCount > 0 ? readInts(buffer, displacementCount) : null;
+		int[] hashes = readInts(buffer, size);
+		int[] keyOffsets = readInts(buffer, size + 1);
+		char[] keyChars = readChars(buffer, charCount);
+		int[] values = readInts(buffer, size);
+
+		if (displacements != null) {
+			for (int displacement : displacements) {
+				// positions stored instead of a displacement
+				if (displacement < 0 && ~displacement >= perfectSize) throw new IllegalArgumentException("Invalid string table displacements");
+			}
+		}
+
+		if (keyOffsets[size] != charCount) {
+			throw new IllegalArgumentException("Invalid string table keys");
+		}
+
+		String[] valuePool = new String[valueCount];
+
+		for (int i = 0; i < valueCount; i++) {
+			valuePool[i] = new String(readChars(buffer, buffer.getInt()));
+		}
+
+		return new StringTable(slots, displacements, perfectSize, hashes, keyOffsets, keyChars, values, valuePool);
+	}
+
+	private static int[] readInts(ByteBuffer buffer, int count) {
+		int[] ints = new int[count];
+		buffer.asIntBuffer().get(ints);
+		buffer.position(buffer.position() + count * 4);
+		return ints;
+	}
+
+	private static char[] readChars(ByteBuffer buffer, int count) {
+		char[] chars = new char[count];
+		buffer.asCharBuffer().get(chars);
+		buffer.position(buffer.position() + count * 2);
+		return chars;
+	}
+
+	/**
+	 * A mutable builder for a {@link StringTable}, with the same semantics as the corresponding {@link Map} methods.
+	 */
+	public static final class Builder {
+		private int[] slots;
+		private int[] hashes;
+		private int[] keyOffsets;
+		private char[] keyChars;
+		private int[] values;
+		private String[] valuePool;
+		private final Map<String, Integer> valueIds = new HashMap<>();
+		private int size;
+		private int removed; // entries without a slot, which are dropped when building
+
+		public Builder() {
+			this(16);
+		}
+
+		public Builder(int expectedSize) {
+			int capacity = Math.max(expectedSize, 4);
+			slots = new int[slotCount(capacity)];
+			hashes = new int[capacity];
+			keyOffsets = new int[capacity + 1];
+			keyChars = new char[capacity * 16];
+			values = new int[capacity];
+			valuePool = new String[capacity];
+		}
+
+		/**
+		 * Creates a builder with the entries of a table, for deriving a table with a few changes
+		 * without inserting every entry again.
+		 */
+		public Builder(StringTable table) {
+			// as many entries as fit into the slots at the maximum load factor, so that they don't need rehashing
+			int capacity = Math.max(table.slots.length / 2, table.size + table.size / 8 + 4);
+			slots = table.slots.clone();
+			hashes = Arrays.copyOf(table.hashes, capacity);
+			keyOffsets = Arrays.copyOf(table.keyOffsets, capacity + 1);
+			keyChars = Arrays.copyOf(table.keyChars, table.keyChars.length + table.keyChars.length / 8 + 16);
+			values = Arrays.copyOf(table.values, capacity);
+			valuePool = Arrays.copyOf(table.valuePool, Math.max(table.valuePool.length, 4));
+			size = table.size;
+
+			for (int id = 0; id < table.valuePool.length; id++) {
+				valueIds.put(table.valuePool[id], id);
+			}
+
+			// perfect tables only have slots for some entries
+			if (slotCount(capacity) > slots.length || table.displacements != null) {
+				rehash(Math.max(slotCount(capacity), slots.length));
+			}
+		}
+
+		/**
+		 * Keeps the load factor at or below 0.5, which keeps probe sequences short.
+		 */
+		private static int slotCount(int capacity) {
+			return Integer.highestOneBit(capacity * 2 - 1) << 1;
+		}
+
+		public String get(String key) {
+			int entry = find(slots, slots.length - 1, hashes, keyOffsets, keyChars, key.hashCode(), key, null, null);
+			return entry >= 0 ? valuePool[values[entry]] : null;
+		}
+
+		public String get(String first, String second) {
+			int entry = find(slots, slots.length - 1, hashes, keyOffsets, keyChars, hash(first, second), first, second, null);
+			return entry >= 0 ? valuePool[values[entry]] : null;
+		}
+
+		public String get(String first, String second, String third) {
+			int entry = find(slots, slots.length - 1, hashes, keyOffsets, keyChars, hash(first, second, third), first, second, third);
+			return entry >= 0 ? valuePool[values[entry]] : null;
+		}
+
+		public String put(String key, String value) {
+			return put(key.hashCode(), key, null, null, value, true);
+		}
+
+		public String putIfAbsent(String key, String value) {
+			return put(key.hashCode(), key, null, null, value, false);
+		}
+
+		public String put(String first, String second, String value) {
+			return put(hash(first, second), first, second, null, value, true);
+		}
+
+		public String putIfAbsent(String first, String second, String value) {
+			return put(hash(first, second), first, second, null, value, false);
+		}
+
+		public String put(String first, String second, String third, String value) {
+			return put(hash(first, second, third), first, second, third, value, true);
+		}
+
+		public String putIfAbsent(String first, String second, String third, String value) {
+			return put(hash(first, second, third), first, second, third, value, false);
+		}
+
+		private String put(int hash, String first, String second, String third, String value, boolean replace) {
+			if (value == null) throw new NullPointerException("value");
+
+			int entry = find(slots, slots.length - 1, hashes, keyOffsets, keyChars, hash, first, second, third);
+
+			if (entry >= 0) {
+				String prev = valuePool[values[entry]];
+				if (replace) values[entry] = valueId(value);
+				return prev;
+			}
+
+			int offset = append(hash, keyLength(first, second, third), value);
+			first.getChars(0, first.length(), keyChars, offset);
+
+			if (second != null) {
+				offset += first.length();
+				keyChars[offset++] = PART_SEPARATOR;
+				second.getChars(0, second.length(), keyChars, offset);
+
+				if (third != null) {
+					offset += second.length();
+					keyChars[offset++] = PART_SEPARATOR;
+					third.getChars(0, third.length(), keyChars, offset);
+				}
+			}
+
+			return null;
+		}
+
+		/**
+		 * Merges the entries of another builder into this one, in the other builder's insertion order.
+		 * Keys that are new to this builder are copied over, for keys present in both builders the value
+		 * becomes the result of applying the merge function to this builder's and the other builder's value.
+		 */
+		public void merge(Builder other, BinaryOperator<String> mergeFunction) {
+			merge(other, mergeFunction, null);
+		}
+
+		/**
+		 * Like {@link #merge(Builder, BinaryOperator)}, and also passes the keys with different values in both builders
+		 * to a consumer, with the parts of composite keys separated by {@code '\0'}.
+		 */
+		public void merge(Builder other, BinaryOperator<String> mergeFunction, Consumer<String> differentKeys) {
+			for (int otherEntry = 0; otherEntry < other.size; otherEntry++) {
+				if (other.values[otherEntry] < 0) continue; // removed
+
+				int hash = other.hashes[otherEntry];
+				int otherOffset = other.keyOffsets[otherEntry];
+				int length = other.keyOffsets[otherEntry + 1] - otherOffset;
+				String value = other.valuePool[other.values[otherEntry]];
+				int entry = findRegion(hash, other.keyChars, otherOffset, length);
+
+				if (entry >= 0) {
+					String current = valuePool[values[entry]];
+					String merged = mergeFunction.apply(current, value);
+					if (differentKeys != null && !current.equals(value)) differentKeys.accept(new String(other.keyChars, otherOffset, length));
+					if (merged != current) values[entry] = valueId(merged);
+				} else {
+					int offset = append(hash, length, value);
+					System.arraycopy(other.keyChars, otherOffset, keyChars, offset, length);
+				}
+			}
+		}
+
+		/**
+		 * Removes the keys of another builder from this one, regardless of their values.
+		 */
+		public void removeAll(Builder other) {
+			for (int otherEntry = 0; otherEntry < other.size; otherEntry++) {
+				if (other.values[otherEntry] < 0) continue;
+
+				int otherOffset = other.keyOffsets[otherEntry];
+				int slot = findRegionSlot(other.hashes[otherEntry], other.keyChars, otherOffset, other.keyOffsets[otherEntry + 1] - otherOffset);
+				if (slot < 0) continue;
+
+				values[slots[slot] - 1] = -1;
+				removed++;
+				removeSlot(slot);
+			}
+		}
+
+		/**
+		 * Empties a slot, moving later entries of the same probe sequence back so that they stay reachable.
+		 */
+		private void removeSlot(int slot) {
+			int mask = slots.length - 1;
+			slots[slot] = 0;
+
+			for (int next = (slot + 1) & mask; slots[next] != 0; next = (next + 1) & mask) {
+				int home = spread(hashes[slots[next] - 1]) & mask;
+
+				// the entry can move back if the emptied slot isn't before its home slot in the probe sequence
+				if (((next - home) & mask) >= ((next - slot) & mask)) {
+					slots[slot] = slots[next];
+					slots[next] = 0;
+					slot = next;
+				}
+			}
+		}
+
+		private int findRegion(int hash, char[] chars, int offset, int length) {
+			int slot = findRegionSlot(hash, chars, offset, length);
+			return slot >= 0 ? slots[slot] - 1 : -1;
+		}
+
+		private int findRegionSlot(int hash, char[] chars, int offset, int length) {
+			int mask = slots.length - 1;
+
+			for (int slot = spread(hash) & mask; ; slot = (slot + 1) & mask) {
+				int entry = slots[slot] - 1;
+
+				if (entry < 0) {
+					return -1;
+				} else if (hashes[entry] == hash && keyOffsets[entry + 1] - keyOffsets[entry] == length) {
+					int entryOffset = keyOffsets[entry];
+					int i = 0;
+
+					while (i < length && keyChars[entryOffset + i] == chars[offset + i]) {
+						i++;
+					}
+
+					if (i == length) return slot;
+				}
+			}
+		}
+
+		/**
+		 * Appends a new entry for a key that isn't in the builder yet.
+		 *
+		 * @return the offset to copy the key's chars to
+		 */
+		private int append(int hash, int length, String value) {
+			if (size == hashes.length) {
+				grow();
+			}
+
+			int offset = keyOffsets[size];
+
+			if (offset + length > keyChars.length) {
+				keyChars = Arrays.copyOf(keyChars, Math.max(keyChars.length * 2, offset + length));
+			}
+
+			keyOffsets[size + 1] = offset + length;
+			hashes[size] = hash;
+			values[size] = valueId(value);
+			place(size++);
+			return offset;
+		}
+
+		private void place(int entry) {
+			int mask = slots.length - 1;
+			int slot = spread(hashes[entry]) & mask;
+
+			while (slots[slot] != 0) {
+				slot = (slot + 1) & mask;
+			}
+
+			slots[slot] = entry + 1;
+		}
+
+		private int valueId(String value) {
+			Integer id = valueIds.get(value);
+
+			if (id == null) {
+				id = valueIds.size();
+				valueIds.put(value, id);
+
+				if (id == valuePool.length) {
+					valuePool = Arrays.copyOf(valuePool, id * 2);
+				}
+
+				valuePool[id] = value;
+			}
+
+			return id;
+		}
+
+		private void grow() {
+			int capacity = hashes.length * 2;
+			hashes = Arrays.copyOf(hashes, capacity);
+			keyOffsets = Arrays.copyOf(keyOffsets, capacity + 1);
+			values = Arrays.copyOf(values, capacity);
+			rehash(slotCount(capacity));
+		}
+
+		private void rehash(int slotCount) {
+			slots = new int[slotCount];
+
+			for (int entry = 0; entry < size; entry++) {
+				if (values[entry] >= 0) place(entry);
+			}
+		}
+
+		/**
+		 * Drops removed entries, keeping the order of the others. Values that are no longer used stay in the pool.
+		 */
+		private void compact() {
+			int[] moved = new int[size];
+			int kept = 0;
+			int keptChars = 0;
+
+			for (int entry = 0; entry < size; entry++) {
+				if (values[entry] < 0) continue;
+
+				moved[entry] = kept;
+
+				int offset = keyOffsets[entry];
+				int length = keyOffsets[entry + 1] - offset;
+				System.arraycopy(keyChars, offset, keyChars, keptChars, length);
+				hashes[kept] = hashes[entry];
+				values[kept] = values[entry];
+				keyOffsets[kept] = keptChars;
+				keptChars += length;
+				keyOffsets[++kept] = keptChars;
+			}
+
+			size = kept;
+			removed = 0;
+
+			// removed entries have no slot, the others keep theirs
+			for (int slot = 0; slot < slots.length; slot++) {
+				if (slots[slot] != 0) slots[slot] = moved[slots[slot] - 1] + 1;
+			}
+		}
+
+		public StringTable build() {
+			return new StringTable(this);
+		}
+
+		/**
+		 * Builds a table addressed by a minimal perfect hash, see {@link PerfectHash}. Building takes longer
+		 * than {@link #build()}, but lookups take a single probe. Keys with the hash code of another key
+		 * are still found by probing, in slots of their own.
+		 */
+		public StringTable buildPerfect() {
+			if (removed > 0) {
+				compact();
+			}
+
+			PerfectHash hash = PerfectHash.build(hashes, size);
+			if (hash == null) return build();
+
+			int[] order = hash.order;
+			int[] newHashes = new int[size];
+			int[] newKeyOffsets = new int[size + 1];
+			char[] newKeyChars = new char[keyOffsets[size]];
+			int[] newValues = new int[size];
+
+			for (int entry = 0; entry < size; entry++) {
+				int offset = keyOffsets[order[entry]];
+				int length = keyOffsets[order[entry] + 1] - offset;
+				System.arraycopy(keyChars, offset, newKeyChars, newKeyOffsets[entry], length);
+				newKeyOffsets[entry + 1] = newKeyOffsets[entry] + length;
+				newHashes[entry] = hashes[order[entry]];
+				newValues[entry] = values[order[entry]];
+			}
+
+			int[] newSlots = new int[slotCount(Math.max(size - hash.size, 1))];
+			int newMask = newSlots.length - 1;
+
+			for (int entry = hash.size; entry < size; entry++) {
+				int slot = spread(newHashes[entry]) & newMask;
+
+				while (newSlots[slot] != 0) {
+					slot = (slot + 1) & newMask;
+				}
+
+				newSlots[slot] = entry + 1;
+			}
+
+			return new StringTable(newSlots, hash.displacements, hash.size, newHashes, newKeyOffsets, newKeyChars, newValues,
+					Arrays.copyOf(valuePool, valueIds.size()));
+		}
+	}
+}
@@ -0,0 +1,129 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.mappingstore;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Mappings converted to the {@link CompactMappings} format, plain and compressed with gzip, have to read back the
+ * same as the text mappings for several pairs of namespaces: every class and member with the same names and
+ * descriptors in the same order.
+ */
+class CompactMappingsTest {
+	private static final String[][] SYNTHETIC_NAMESPACES = {{"srg", "named"}, {"intermediary", "named"}, {"named", "srg"}, {"intermediary", "srg"}};
+	private static final String[][] RANDOM_NAMESPACES = {{"srg", "named"}, {"named", "srg"}};
+	private static final int RANDOM_STEPS = 50;
+
+	@TempDir
+	Path dir;
+
+	@BeforeEach
+	void setCacheDir() {
+		System.setProperty(MappingStore.CACHE_DIR_PROPERTY, dir.resolve("cache").toString());
+	}
+
+	@Test
+	void syntheticMappingsReadBackEqual() throws IOException {
+		Path path = dir.resolve("synthetic.tiny");
+		SyntheticMappings.write(path, 500);
+		check(path, SYNTHETIC_NAMESPACES);
+	}
+
+	@Test
+	void randomMappingsReadBackEqual() throws IOException {
+		RandomMappings mappings = new RandomMappings(1, 200);
+
+		for (int step = 0; step < RANDOM_STEPS; step++) {
+			mappings.edit();
+			Path path = dir.resolve("random-" + step + ".tiny");
+			mappings.write(path);
+			check(path, RANDOM_NAMESPACES);
+		}
+	}
+
+	private static void check(Path text, String[][] namespaces) throws IOException {
+		String name = text.getFileName().toString();
+
+		for (String extension : new String[] {".bin", ".bin.gz"}) {
+			Path compact = text.resolveSibling(name.substring(0, name.lastIndexOf('.')) + extension);
+			CompactMappings.write(text, compact);
+
+			for (String[] pair : namespaces) {
+				String difference = compare(MappingStore.open(text, pair[0], pair[1]), MappingStore.open(compact, pair[0], pair[1]));
+				assertNull(difference, () -> compact.getFileName() + " " + pair[0] + " -> " + pair[1] + " differs from the text mappings");
+			}
+		}
+	}
+
+	private static String compare(MappingStore expected, MappingStore actual) {
+		if (expected.getClassCount() != actual.getClassCount()) {
+			return expected.getClassCount() + " classes, got " + actual.getClassCount();
+		}
+
+		for (int cls = 0; cls < expected.getClassCount(); cls++) {
+			String owner = expected.getClassSrcName(cls);
+
+			if (!Objects.equals(owner, actual.getClassSrcName(cls)) || !Objects.equals(expected.getClassDstName(cls), actual.getClassDstName(cls))) {
+				return "class " + cls + ": " + owner + " -> " + expected.getClassDstName(cls) + ", got " + actual.getClassSrcName(cls) + " -> " + actual.getClassDstName(cls);
+			}
+
+			if (expected.getFieldEnd(cls) - expected.getFieldStart(cls) != actual.getFieldEnd(cls) - actual.getFieldStart(cls)
+					|| expected.getMethodEnd(cls) - expected.getMethodStart(cls) != actual.getMethodEnd(cls) - actual.getMethodStart(cls)) {
+				return "members of " + owner;
+			}
+
+			for (int i = 0; i < expected.getFieldEnd(cls) - expected.getFieldStart(cls); i++) {
+				int field = expected.getFieldStart(cls) + i;
+				int actualField = actual.getFieldStart(cls) + i;
+
+				if (!Objects.equals(expected.getFieldSrcName(field), actual.getFieldSrcName(actualField))
+						|| !Objects.equals(expected.getFieldSrcDesc(field), actual.getFieldSrcDesc(actualField))
+						|| !Objects.equals(expected.getFieldDstName(field), actual.getFieldDstName(actualField))) {
+					return "field " + owner + "." + expected.getFieldSrcName(field);
+				}
+			}
+
+			for (int i = 0; i < expected.getMethodEnd(cls) - expected.getMethodStart(cls); i++) {
+				int method = expected.getMethodStart(cls) + i;
+				int actualMethod = actual.getMethodStart(cls) + i;
+
+				if (!Objects.equals(expected.getMethodSrcName(method), actual.getMethodSrcName(actualMethod))
+						|| !Objects.equals(expected.getMethodSrcDesc(method), actual.getMethodSrcDesc(actualMethod))
+						|| !Objects.equals(expected.getMethodDstName(method), actual.getMethodDstName(actualMethod))) {
+					return "method " + owner + "." + expected.getMethodSrcName(method) + expected.getMethodSrcDesc(method);
+				}
+			}
+		}
+
+		return null;
+	}
+}
@@ -0,0 +1,69 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.mappingstore;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A {@link MappingIndex} only counts as generated from the mappings it was written for, and not after they were edited,
+ * whether or not the edit changes their size. Edits set the modification time explicitly, so the test doesn't depend
+ * on its resolution.
+ */
+class MappingIndexTest {
+	@TempDir
+	Path dir;
+
+	@Test
+	void indexesAreOnlyGeneratedFromTheirMappings() throws IOException {
+		Path mappingsPath = dir.resolve("mappings.tiny");
+		Path indexPath = dir.resolve("index.bin");
+		write(mappingsPath, "C_1_", 1);
+		new MappingIndex.Writer(mappingsPath, "srg", "named").put("table", new StringTable.Builder().build()).write(indexPath);
+		MappingIndex index = MappingIndex.load(indexPath, "srg", "named");
+		assertTrue(index.isGeneratedFrom(mappingsPath));
+
+		write(mappingsPath, "C_2_", 2);
+		assertFalse(index.isGeneratedFrom(mappingsPath), "the index was generated from mappings of the same size");
+
+		write(mappingsPath, "C_10_", 3);
+		assertFalse(index.isGeneratedFrom(mappingsPath), "the index was generated from smaller mappings");
+
+		write(mappingsPath, "C_1_", 4);
+		assertTrue(index.isGeneratedFrom(mappingsPath), "the index wasn't generated from the restored mappings");
+	}
+
+	private static void write(Path path, String className, int version) throws IOException {
+		Files.write(path, ("tiny\t2\t0\tsrg\tnamed\nc\tnet/minecraft/" + className + "\tnet/minecraft/Named\n").getBytes("UTF-8"));
+		Files.setLastModifiedTime(path, FileTime.fromMillis(version * 1000L));
+	}
+}
@@ -0,0 +1,113 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.mappingstore;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * {@link NameFilter}s over regular and perfectly hashed tables of many sizes, with member-like names and names with
+ * equal hash codes, must never reject a key of their table. The share of absent names passing a filter has to stay
+ * within {@value #MAX_FALSE_POSITIVE_RATE}, well above the documented rate so the test isn't flaky. Absent names with
+ * the hash code of a key always pass, as filters only see hash codes, so they're left out of that share.
+ */
+class NameFilterTest {
+	private static final int[] SIZES = {0, 1, 2, 7, 100, 1000, 10000, 100000, 300000};
+	private static final int ABSENT_NAMES = 200000;
+	private static final double MAX_FALSE_POSITIVE_RATE = 0.01;
+
+	@Test
+	void filtersPassAllKeys() {
+		Random random = new Random(1);
+
+		for (int size : SIZES) {
+			Set<String> keys = new HashSet<>();
+			StringTable.Builder builder = new StringTable.Builder();
+
+			while (keys.size() < size) {
+				String key = randomName(random);
+				builder.put(key, "mapped");
+				keys.add(key);
+			}
+
+			check("regular", builder.build(), keys, random);
+			check("perfect", builder.buildPerfect(), keys, random);
+		}
+	}
+
+	// member names like m_1234_ and f_1234_, and names made of blocks with equal hash codes
+	private static String randomName(Random random) {
+		switch (random.nextInt(3)) {
+			case 0:
+				return "m_" + random.nextInt(1 << 24) + "_";
+			case 1:
+				return "f_" + random.nextInt(1 << 24) + "_";
+			default:
+				StringBuilder name = new StringBuilder("func");
+
+				for (int i = 0; i < 6; i++) {
+					name.append(random.nextBoolean() ? "Aa" : "BB");
+				}
+
+				return name.append(random.nextInt(1 << 10)).toString();
+		}
+	}
+
+	private static void check(String kind, StringTable table, Set<String> keys, Random random) {
+		NameFilter filter = NameFilter.of(table);
+		List<String> rejected = new ArrayList<>();
+		Set<Integer> keyHashes = new HashSet<>();
+
+		for (String key : keys) {
+			if (!filter.mightContain(key) && rejected.size() < 10) rejected.add(key);
+			keyHashes.add(key.hashCode());
+		}
+
+		assertEquals(Collections.emptyList(), rejected, () -> "the filter of the " + kind + " table of " + keys.size() + " keys rejects keys");
+
+		int absent = 0;
+		int passed = 0;
+
+		while (absent < ABSENT_NAMES) {
+			String name = randomName(random);
+			if (keys.contains(name) || keyHashes.contains(name.hashCode())) continue;
+
+			absent++;
+			if (filter.mightContain(name)) passed++;
+		}
+
+		double rate = (double) passed / absent;
+		assertTrue(keys.isEmpty() || rate <= MAX_FALSE_POSITIVE_RATE,
+				() -> "the filter of the " + kind + " table of " + keys.size() + " keys lets " + rate * 100 + "% of absent names through");
+	}
+}
@@ -0,0 +1,146 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.mappingstore;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tables addressed by a minimal perfect hash have to find every key with its value and miss absent keys, including
+ * keys whose hash code is exactly the one of a present key. A part of the keys shares its hash code with another
+ * present key, which puts those in the overflow slots. Keys are looked up as strings and as regions of descriptors,
+ * also after writing the table into an index and reading it back, and after updating it.
+ */
+class PerfectHashTest {
+	private static final int[] SIZES = {0, 1, 2, 3, 5, 17, 100, 1000, 30000, 200000};
+	private static final int MISSES = 100000;
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void perfectTablesEqualRegularTables() throws IOException {
+		Random random = new Random(1);
+		// the indexes are only written for the round trip, so they are generated from empty mappings
+		Path mappingsPath = Files.write(dir.resolve("mappings.tiny"), "tiny\t2\t0\tsrg\tnamed\n".getBytes(StandardCharsets.UTF_8));
+
+		for (int size : SIZES) {
+			check(size, random, mappingsPath, dir.resolve("index-" + size + ".bin"));
+		}
+	}
+
+	private static void check(int size, Random random, Path mappingsPath, Path indexPath) throws IOException {
+		Map<String, String> expected = new HashMap<>();
+		List<String> absent = new ArrayList<>();
+		StringTable.Builder builder = new StringTable.Builder();
+
+		while (expected.size() < size) {
+			// "Aa" and "BB" have the same hash code, and so do any two keys only differing by them
+			String key = "net/minecraft/C_" + random.nextInt(1 << 30) + "_";
+			if (expected.containsKey(key + "Aa")) continue;
+
+			String value = "value" + random.nextInt(64);
+			put(builder, expected, key + "Aa", value);
+
+			if (random.nextInt(8) == 0) {
+				put(builder, expected, key + "BB", value);
+			} else {
+				absent.add(key + "BB");
+			}
+		}
+
+		builder.put("owner", "name", "desc", "composite");
+		StringTable perfect = builder.buildPerfect();
+		StringTable regular = builder.build();
+		check("perfect", perfect, expected, absent, random);
+		check("regular", regular, expected, absent, random);
+		assertTrue(perfect.contentEquals(regular) && regular.contentEquals(perfect), () -> "the perfect table of " + size + " keys has other entries than the regular one");
+
+		new MappingIndex.Writer(mappingsPath, "srg", "named").put("table", perfect).write(indexPath);
+		check("read", MappingIndex.load(indexPath, "srg", "named").getTable("table"), expected, absent, random);
+
+		// updates keep the perfect hash
+		StringTable.Builder removed = new StringTable.Builder();
+		StringTable.Builder added = new StringTable.Builder();
+
+		for (String key : new ArrayList<>(expected.keySet())) {
+			if (random.nextInt(10) == 0) {
+				removed.put(key, "");
+				expected.remove(key);
+				absent.add(key);
+			}
+		}
+
+		for (int i = 0; i < size / 10 + 3; i++) {
+			put(added, expected, "net/minecraft/Added" + i, "added");
+		}
+
+		check("updated", perfect.update(removed, added), expected, absent, random);
+	}
+
+	private static void put(StringTable.Builder builder, Map<String, String> expected, String key, String value) {
+		builder.put(key, value);
+		expected.put(key, value);
+	}
+
+	private static void check(String kind, StringTable table, Map<String, String> expected, List<String> absent, Random random) {
+		String description = "the " + kind + " table of " + expected.size() + " keys";
+
+		for (Map.Entry<String, String> entry : expected.entrySet()) {
+			String key = entry.getKey();
+			assertEquals(entry.getValue(), table.get(key), () -> description + " lost " + key);
+			assertTrue(table.containsKey(key), () -> description + " doesn't contain " + key);
+			assertEquals(entry.getValue(), table.get("L" + key + ";", 1, key.length()), () -> description + " lost " + key + " in a region of a descriptor");
+		}
+
+		for (String key : absent) {
+			assertFalse(table.containsKey(key), () -> description + " finds the absent key " + key + " with the hash of a present key");
+			assertNull(table.get("L" + key + ";", 1, key.length()), () -> description + " finds the absent key " + key + " in a region");
+		}
+
+		for (int i = 0; i < MISSES; i++) {
+			String key = "net/minecraft/C_" + random.nextInt(1 << 30) + "_";
+			assertNull(table.get(key), () -> description + " finds the absent key " + key);
+		}
+
+		assertEquals("composite", table.get("owner", "name", "desc"), () -> description + " lost the composite key");
+		assertNull(table.get("owner", "name", "other"), () -> description + " finds an absent composite key");
+		assertEquals(expected.size() + 1, table.size(), () -> description + " has another size");
+	}
+}
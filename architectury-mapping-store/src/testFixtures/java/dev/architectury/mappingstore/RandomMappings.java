@@ -0,0 +1,224 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.mappingstore;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Random Tiny v2 mappings from {@code srg} to {@code named} for the tests, which are edited
+ * step by step like mappings during a development session.
+ *
+ * <p>Unlike {@link SyntheticMappings}, the mappings contain the cases lookup tables get wrong most easily:
+ * member names whose hash codes are equal, names shared by many classes, classes listed twice, classes
+ * mapped to the same name, unmapped classes and members without a name in the target namespace.
+ */
+public final class RandomMappings {
+	// strings made of these blocks all have the same hash code
+	private static final String[] COLLIDING = {"AaAa", "AaBB", "BBAa", "BBBB"};
+
+	private final Random random;
+	private final List<ClassEntry> classes = new ArrayList<>();
+	private int nextId;
+
+	public RandomMappings(long seed, int classCount) {
+		this.random = new Random(seed);
+
+		for (int i = 0; i < classCount; i++) {
+			classes.add(newClass());
+		}
+	}
+
+	public List<ClassEntry> getClasses() {
+		return classes;
+	}
+
+	/**
+	 * Applies a random edit.
+	 *
+	 * @return what was edited
+	 */
+	public String edit() {
+		if (classes.isEmpty()) {
+			classes.add(newClass());
+			return "added class " + classes.get(0).src;
+		}
+
+		ClassEntry cls = classes.get(random.nextInt(classes.size()));
+
+		switch (random.nextInt(10)) {
+			case 0:
+				cls.dst = newClassName();
+				return "renamed class " + cls.src;
+			case 1:
+				MemberEntry member = randomMember(cls);
+				if (member == null) return "nothing";
+				member.dst = random.nextInt(8) == 0 ? null : newMemberName();
+				return "renamed member " + cls.src + "." + member.src;
+			case 2:
+				member = randomMember(cls);
+				if (member == null) return "nothing";
+				member.src = newMemberSrcName(member.desc.startsWith("(") ? "m_" : "f_");
+				return "changed the source name of member " + cls.src + "." + member.src;
+			case 3:
+				classes.remove(cls);
+				return "removed class " + cls.src;
+			case 4:
+				ClassEntry added = newClass();
+				classes.add(random.nextInt(classes.size() + 1), added);
+				return "added class " + added.src;
+			case 5:
+				ClassEntry duplicate = cls.copy();
+				duplicate.dst = newClassName();
+				classes.add(random.nextInt(classes.size() + 1), duplicate);
+				return "duplicated class " + cls.src;
+			case 6:
+				Collections.swap(classes, random.nextInt(classes.size()), random.nextInt(classes.size()));
+				return "reordered classes";
+			case 7:
+				// another class' name, so two classes map to the same name
+				cls.dst = classes.get(random.nextInt(classes.size())).dst;
+				return "mapped class " + cls.src + " to " + cls.dst;
+			case 8:
+				List<MemberEntry> members = random.nextBoolean() ? cls.methods : cls.fields;
+				if (members.isEmpty()) return "nothing";
+				members.remove(random.nextInt(members.size()));
+				return "removed a member of " + cls.src;
+			default:
+				cls.methods.add(newMember("m_", newDesc()));
+				cls.fields.add(newMember("f_", "I"));
+				return "added members to " + cls.src;
+		}
+	}
+
+	public void write(Path path) throws IOException {
+		try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+			writer.write("tiny\t2\t0\tsrg\tnamed\n");
+
+			for (ClassEntry cls : classes) {
+				writer.write("c\t" + cls.src + "\t" + cls.dst + "\n");
+
+				for (MemberEntry method : cls.methods) {
+					writer.write("\tm\t" + method.desc + "\t" + method.src + "\t" + (method.dst != null ? method.dst : "") + "\n");
+				}
+
+				for (MemberEntry field : cls.fields) {
+					writer.write("\tf\t" + field.desc + "\t" + field.src + "\t" + (field.dst != null ? field.dst : "") + "\n");
+				}
+			}
+		}
+	}
+
+	private ClassEntry newClass() {
+		String src = "net/minecraft/C_" + nextId++ + "_";
+		// some classes keep their name
+		ClassEntry cls = new ClassEntry(src, random.nextInt(8) == 0 ? src : newClassName());
+
+		for (int i = random.nextInt(6); i > 0; i--) {
+			cls.methods.add(newMember("m_", newDesc()));
+		}
+
+		for (int i = random.nextInt(4); i > 0; i--) {
+			cls.fields.add(newMember("f_", "I"));
+		}
+
+		return cls;
+	}
+
+	private MemberEntry newMember(String prefix, String desc) {
+		return new MemberEntry(newMemberSrcName(prefix), desc, random.nextInt(8) == 0 ? null : newMemberName());
+	}
+
+	private String newMemberSrcName(String prefix) {
+		switch (random.nextInt(3)) {
+			case 0:
+				return prefix + COLLIDING[random.nextInt(COLLIDING.length)] + random.nextInt(4) + "_";
+			case 1:
+				return prefix + "shared" + random.nextInt(4) + "_";
+			default:
+				return prefix + nextId++ + "_";
+		}
+	}
+
+	private String newClassName() {
+		return "net/minecraft/pkg" + random.nextInt(4) + "/Named" + nextId++;
+	}
+
+	private String newMemberName() {
+		return "name" + random.nextInt(64);
+	}
+
+	private String newDesc() {
+		return random.nextBoolean() ? "()V" : "(Lnet/minecraft/C_" + random.nextInt(Math.max(nextId, 1)) + "_;)I";
+	}
+
+	private MemberEntry randomMember(ClassEntry cls) {
+		List<MemberEntry> members = random.nextBoolean() ? cls.methods : cls.fields;
+		return members.isEmpty() ? null : members.get(random.nextInt(members.size()));
+	}
+
+	public static final class ClassEntry {
+		public final String src;
+		public String dst;
+		public final List<MemberEntry> methods = new ArrayList<>();
+		public final List<MemberEntry> fields = new ArrayList<>();
+
+		ClassEntry(String src, String dst) {
+			this.src = src;
+			this.dst = dst;
+		}
+
+		ClassEntry copy() {
+			ClassEntry copy = new ClassEntry(src, dst);
+
+			for (MemberEntry method : methods) {
+				copy.methods.add(new MemberEntry(method.src, method.desc, method.dst));
+			}
+
+			for (MemberEntry field : fields) {
+				copy.fields.add(new MemberEntry(field.src, field.desc, field.dst));
+			}
+
+			return copy;
+		}
+	}
+
+	public static final class MemberEntry {
+		public String src;
+		public final String desc;
+		public String dst;
+
+		MemberEntry(String src, String desc, String dst) {
+			this.src = src;
+			this.desc = desc;
+			this.dst = dst;
+		}
+	}
+}
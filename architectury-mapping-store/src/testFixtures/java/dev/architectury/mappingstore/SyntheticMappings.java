@@ -0,0 +1,124 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.mappingstore;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Generates synthetic Tiny v2 mappings shaped like Forge dev mappings, with {@code intermediary},
+ * {@code srg} and {@code named} namespaces.
+ *
+ * <p>Every class has {@value #METHODS_PER_CLASS} methods and {@value #FIELDS_PER_CLASS} fields with unique
+ * srg names, plus one method whose srg name is shared by many classes with different named names, so the
+ * mixin remapper sees ambiguous entries. Classes form inheritance chains of {@value #CHAIN_LENGTH}, see
+ * {@link #getSuperClass(int)}. Mapped names are drawn from a small vocabulary, like real method names.
+ *
+ * <p>Used by the tests of the store and the services, and by the benchmarks.
+ */
+public final class SyntheticMappings {
+	public static final int METHODS_PER_CLASS = 10;
+	public static final int FIELDS_PER_CLASS = 5;
+	public static final int CHAIN_LENGTH = 8;
+	public static final int SHARED_NAMES = 64;
+
+	private SyntheticMappings() {
+	}
+
+	public static void write(Path path, int classes) throws IOException {
+		try (BufferedWriter writer = Files.newBufferedWriter(path)) {
+			writer.write("tiny\t2\t0\tintermediary\tsrg\tnamed\n");
+
+			for (int cls = 0; cls < classes; cls++) {
+				writer.write("c\t" + getIntermediaryClass(cls) + "\t" + getSrgClass(cls) + "\t" + getNamedClass(cls) + "\n");
+				writer.write("\tc\tSynthetic class " + cls + ".\n");
+
+				for (int i = 0; i < METHODS_PER_CLASS; i++) {
+					int id = cls * METHODS_PER_CLASS + i;
+					writer.write("\tm\t" + getIntermediaryMethodDesc(cls, classes) + "\tmethod_" + id + "\t" + getSrgMethod(cls, i) + "\t" + getNamedMethod(i) + "\n");
+					writer.write("\t\tp\t1\t\t\tvalue\n");
+				}
+
+				writer.write("\tm\t()V\tmethod_shared_" + cls + "\t" + getSrgSharedMethod(cls) + "\tshared" + (cls % 3) + "\n");
+
+				for (int i = 0; i < FIELDS_PER_CLASS; i++) {
+					int id = cls * FIELDS_PER_CLASS + i;
+					writer.write("\tf\tI\tfield_" + id + "\t" + getSrgField(cls, i) + "\t" + getNamedField(i) + "\n");
+				}
+			}
+		}
+	}
+
+	public static String getIntermediaryClass(int cls) {
+		return "net/minecraft/class_" + cls;
+	}
+
+	public static String getSrgClass(int cls) {
+		return "net/minecraft/C_" + cls + "_";
+	}
+
+	public static String getNamedClass(int cls) {
+		return "net/minecraft/pkg" + (cls % 16) + "/Named" + cls;
+	}
+
+	/**
+	 * @return the index of the super class, or {@code -1} if the class extends {@code java/lang/Object}
+	 */
+	public static int getSuperClass(int cls) {
+		return cls % CHAIN_LENGTH == 0 ? -1 : cls - 1;
+	}
+
+	private static String getIntermediaryMethodDesc(int cls, int classes) {
+		return "(L" + getIntermediaryClass((cls + 1) % classes) + ";I)V";
+	}
+
+	public static String getSrgMethodDesc(int cls, int classes) {
+		return "(L" + getSrgClass((cls + 1) % classes) + ";I)V";
+	}
+
+	public static String getSrgMethod(int cls, int i) {
+		return "m_" + (cls * METHODS_PER_CLASS + i) + "_";
+	}
+
+	/**
+	 * @return the srg name of the method with the descriptor {@code ()V} that is shared by many classes, with different named names
+	 */
+	public static String getSrgSharedMethod(int cls) {
+		return "m_shared" + (cls % SHARED_NAMES) + "_";
+	}
+
+	public static String getNamedMethod(int i) {
+		return "method" + i;
+	}
+
+	public static String getSrgField(int cls, int i) {
+		return "f_" + (cls * FIELDS_PER_CLASS + i) + "_";
+	}
+
+	public static String getNamedField(int i) {
+		return "field" + i;
+	}
+}
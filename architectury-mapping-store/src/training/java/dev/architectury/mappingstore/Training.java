@@ -0,0 +1,129 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.mappingstore;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * The training runs the class lists of the services are recorded from, see {@link SharedArchive}.
+ * Only the training jars of the services include it, next to their {@code SharedArchiveTraining}.
+ */
+public final class Training {
+	/**
+	 * The source namespace of the mappings written by {@link #writeMappings}.
+	 */
+	public static final String SOURCE_NAMESPACE = "srg";
+
+	private static final int CLASSES = 64;
+	private static final int MEMBERS = 4;
+
+	private Training() {
+	}
+
+	/**
+	 * Runs the training workload of a service, the main method of its {@code SharedArchiveTraining}.
+	 *
+	 * <p>Without arguments, the workload runs on small generated mappings in every format the services read,
+	 * with a fresh cache so the mappings are parsed once. Otherwise the arguments are the mapping file
+	 * and its source namespace.
+	 */
+	public static void run(String[] args, Workload workload) throws IOException {
+		if (args.length == 2) {
+			workload.run(Paths.get(args[0]), args[1]);
+			return;
+		} else if (args.length != 0) {
+			throw new IllegalArgumentException("Usage: SharedArchiveTraining [<mappings> <sourceNamespace>]");
+		}
+
+		Path dir = Files.createTempDirectory("architectury-shared-archive-training");
+		String cacheDir = System.getProperty(MappingStore.CACHE_DIR_PROPERTY);
+		System.setProperty(MappingStore.CACHE_DIR_PROPERTY, dir.resolve("cache").toString());
+
+		try {
+			for (Path mappings : writeMappings(dir)) {
+				workload.run(mappings, SOURCE_NAMESPACE);
+			}
+		} finally {
+			if (cacheDir != null) {
+				System.setProperty(MappingStore.CACHE_DIR_PROPERTY, cacheDir);
+			} else {
+				System.clearProperty(MappingStore.CACHE_DIR_PROPERTY);
+			}
+
+			try (Stream<Path> files = Files.walk(dir)) {
+				files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+			}
+		}
+	}
+
+	/**
+	 * Writes small mappings from {@value #SOURCE_NAMESPACE} to {@code named}, as Tiny v2
+	 * and in the {@link CompactMappings} format compressed with gzip.
+	 *
+	 * <p>Every class has a method whose name is shared by all classes, so the mappings contain ambiguous names.
+	 */
+	public static List<Path> writeMappings(Path dir) throws IOException {
+		Path tiny = dir.resolve("mappings.tiny");
+
+		try (BufferedWriter writer = Files.newBufferedWriter(tiny)) {
+			writer.write("tiny\t2\t0\t" + SOURCE_NAMESPACE + "\tnamed\n");
+
+			for (int cls = 0; cls < CLASSES; cls++) {
+				String desc = "(Lnet/minecraft/C_" + (cls + 1) % CLASSES + "_;I)V";
+				writer.write("c\tnet/minecraft/C_" + cls + "_\tnet/minecraft/pkg" + cls % 8 + "/Named" + cls + "\n");
+				writer.write("\tc\tTraining class " + cls + ".\n");
+
+				for (int i = 0; i < MEMBERS; i++) {
+					int id = cls * MEMBERS + i;
+					writer.write("\tm\t" + desc + "\tm_" + id + "_\tmethod" + i + "\n");
+					writer.write("\t\tp\t1\t\tvalue\n");
+					writer.write("\tf\tI\tf_" + id + "_\tfield" + i + "\n");
+				}
+
+				writer.write("\tm\t()V\tm_shared_\tshared" + cls % 3 + "\n");
+			}
+		}
+
+		Path compact = dir.resolve("mappings.bin.gz");
+		CompactMappings.write(tiny, compact);
+		return Arrays.asList(tiny, compact);
+	}
+
+	/**
+	 * The training workload of a service, which looks up every name of the mappings
+	 * through the same paths as a launch.
+	 */
+	@FunctionalInterface
+	public interface Workload {
+		void run(Path mappings, String sourceNamespace) throws IOException;
+	}
+}
@@ -0,0 +1,334 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.mixinremapperservice;
+
+import dev.architectury.mappingstore.MappingIndex;
+import dev.architectury.mappingstore.MappingStore;
+import dev.architectury.mappingstore.Profiler;
+import dev.architectury.mappingstore.StringTable;
+import org.spongepowered.asm.mixin.transformer.ClassInfo;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The class hierarchy of the game, flattened into the lookup order of the hierarchy walks
+ * of the {@link MixinIntermediaryDevRemapper}.
+ *
+ * <p>For each class of the game jar, keyed by its target namespace name, the tables hold the source
+ * namespace names of the class and its ancestors that declare mapped methods (or fields), in the order
+ * the walks would visit them. Resolving an inherited member takes one probe into these tables and one
+ * owner-qualified probe per listed ancestor, instead of unmapping and probing every class the walk visits.
+ *
+ * <p>Mixins can add interfaces to classes at runtime, and the game jar the tables were generated from may
+ * differ from the one running. The tables therefore also hold the supertypes each class has in the jar, and
+ * the ancestors of a class are only used while the {@link ClassInfo}s of the class and its ancestors have the
+ * same supertypes. Otherwise the remapper walks the class infos instead. A check is repeated once the class
+ * infos it visited are no longer {@linkplain VisitedClasses#isCurrent current}.
+ */
+public final class AncestorTables {
+	private static final String METHOD_TABLE = "mixin.methodAncestors";
+	private static final String FIELD_TABLE = "mixin.fieldAncestors";
+	private static final String SUPERTYPES_TABLE = "mixin.supertypes";
+	private static final char SEPARATOR = ';'; // not allowed in class names
+	private static final String[] NONE = new String[0];
+
+	private final StringTable methodAncestors;
+	private final StringTable fieldAncestors;
+	private final StringTable supertypes;
+	// decoded and checked once per class, there's at most one entry per class of the game
+	private final Map<String, String[]> decodedMethodAncestors = new ConcurrentHashMap<>();
+	private final Map<String, String[]> decodedFieldAncestors = new ConcurrentHashMap<>();
+	private final Map<String, Check> methodChecks = new ConcurrentHashMap<>();
+	private final Map<String, Check> fieldChecks = new ConcurrentHashMap<>();
+
+	private AncestorTables(StringTable methodAncestors, StringTable fieldAncestors, StringTable supertypes) {
+		this.methodAncestors = methodAncestors;
+		this.fieldAncestors = fieldAncestors;
+		this.supertypes = supertypes;
+	}
+
+	/**
+	 * Builds the tables from the classes of the game jar.
+	 *
+	 * @param mappings the mappings the tables are used with
+	 * @param superClasses the super class of each class of the game, by target namespace names
+	 * @param interfaces the interfaces of each class of the game, by target namespace names
+	 */
+	public static AncestorTables build(MappingStore mappings, Map<String, String> superClasses, Map<String, String[]> interfaces) {
+		long start = Profiler.start();
+		Map<String, String> sourceNames = new HashMap<>();
+		Set<String> methodOwners = new HashSet<>();
+		Set<String> fieldOwners = new HashSet<>();
+
+		for (int cls = 0; cls < mappings.getClassCount(); cls++) {
+			String owner = mappings.getClassSrcName(cls);
+			String ownerTo = mappings.getClassDstName(cls);
+			if (owner == null) continue;
+
+			if (ownerTo != null) sourceNames.putIfAbsent(ownerTo, owner);
+			if (mappings.getMethodStart(cls) < mappings.getMethodEnd(cls)) methodOwners.add(owner);
+			if (mappings.getFieldStart(cls) < mappings.getFieldEnd(cls)) fieldOwners.add(owner);
+		}
+
+		StringTable.Builder methodAncestors = new StringTable.Builder();
+		StringTable.Builder fieldAncestors = new StringTable.Builder();
+		StringTable.Builder supertypes = new StringTable.Builder();
+		StringBuilder sb = new StringBuilder();
+
+		for (String className : superClasses.keySet()) {
+			sb.setLength(0);
+			if (superClasses.get(className) != null) sb.append(superClasses.get(className));
+
+			for (String itf : interfaces.getOrDefault(className, NONE)) {
+				sb.append(SEPARATOR).append(itf);
+			}
+
+			supertypes.put(className, sb.toString());
+
+			// same order as MixinIntermediaryDevRemapper.mapMethodNameInHierarchy, visiting each class once
+			Set<String> visited = new LinkedHashSet<>();
+			Queue<String> queue = new ArrayDeque<>();
+			queue.add(className);
+			String next;
+
+			while ((next = queue.poll()) != null) {
+				if (!visited.add(next)) continue;
+
+				String superClass = superClasses.get(next);
+
+				if (superClass != null && !superClass.startsWith("java/")) {
+					queue.add(superClass);
+				}
+
+				for (String itf : interfaces.getOrDefault(next, NONE)) {
+					if (!itf.startsWith("java/")) {
+						queue.add(itf);
+					}
+				}
+			}
+
+			methodAncestors.put(className, join(sb, visited, sourceNames, methodOwners));
+
+			// same order as mapFieldNameInHierarchy, which only follows super classes
+			visited.clear();
+
+			next = className;
+
+			while (next != null && !next.startsWith("java/") && visited.add(next)) {
+				next = superClasses.get(next);
+			}
+
+			fieldAncestors.put(className, join(sb, visited, sourceNames, fieldOwners));
+		}
+
+		AncestorTables result = new AncestorTables(methodAncestors.build(), fieldAncestors.build(), supertypes.build());
+		Profiler.phase("mixin.buildAncestorTables", start);
+		return result;
+	}
+
+	private static String join(StringBuilder sb, Set<String> classNames, Map<String, String> sourceNames, Set<String> owners) {
+		sb.setLength(0);
+
+		for (String className : classNames) {
+			String owner = sourceNames.getOrDefault(className, className);
+			if (!owners.contains(owner)) continue; // nothing to find there
+
+			if (sb.length() > 0) sb.append(SEPARATOR);
+			sb.append(owner);
+		}
+
+		return sb.toString();
+	}
+
+	/**
+	 * Reads the tables from an index.
+	 *
+	 * @return the tables, or {@code null} if the index was generated without the game jar
+	 */
+	public static AncestorTables read(MappingIndex index) {
+		if (!index.hasTable(METHOD_TABLE) || !index.hasTable(FIELD_TABLE) || !index.hasTable(SUPERTYPES_TABLE)) {
+			return null;
+		}
+
+		return new AncestorTables(index.getTable(METHOD_TABLE), index.getTable(FIELD_TABLE), index.getTable(SUPERTYPES_TABLE));
+	}
+
+	public void write(MappingIndex.Writer index) {
+		index.put(METHOD_TABLE, methodAncestors);
+		index.put(FIELD_TABLE, fieldAncestors);
+		index.put(SUPERTYPES_TABLE, supertypes);
+	}
+
+	/**
+	 * Gets the source namespace names of the class and its ancestors with mapped methods, in lookup order.
+	 *
+	 * @param classInfo the class info of the class
+	 * @param checked receives the class infos whose supertypes were compared if the ancestors are returned, or {@code null}
+	 * @return the ancestors, or {@code null} if the class isn't part of the game or the supertypes of
+	 * its class info or those of its ancestors differ from the game jar
+	 */
+	String[] getMethodAncestors(ClassInfo classInfo, List<ClassInfo> checked) {
+		String[] ancestors = get(methodAncestors, decodedMethodAncestors, classInfo.getName());
+		return ancestors != null && matchesJar(methodChecks, classInfo, true, checked) ? ancestors : null;
+	}
+
+	/**
+	 * Gets the source namespace names of the class and its super classes with mapped fields, in lookup order.
+	 *
+	 * @param classInfo the class info of the class
+	 * @param checked receives the class infos whose super classes were compared if the ancestors are returned, or {@code null}
+	 * @return the ancestors, or {@code null} if the class isn't part of the game or the super classes of
+	 * its class info or those of its super classes differ from the game jar
+	 */
+	String[] getFieldAncestors(ClassInfo classInfo, List<ClassInfo> checked) {
+		String[] ancestors = get(fieldAncestors, decodedFieldAncestors, classInfo.getName());
+		return ancestors != null && matchesJar(fieldChecks, classInfo, false, checked) ? ancestors : null;
+	}
+
+	private boolean matchesJar(Map<String, Check> checks, ClassInfo classInfo, boolean interfaces, List<ClassInfo> checked) {
+		Check check = checks.get(classInfo.getName());
+
+		if (check == null || !check.visited.isCurrent(classInfo)) {
+			check = check(classInfo, interfaces);
+			checks.put(classInfo.getName(), check);
+		}
+
+		if (checked != null && check.matches) check.visited.addTo(checked);
+
+		return check.matches;
+	}
+
+	/**
+	 * Walks the class infos like the remapper does and compares the supertypes of each with the game jar.
+	 * Any class without supertypes in the tables, or a supertype without a class info, fails the check,
+	 * as the tables can't tell what the remapper would find there.
+	 */
+	private Check check(ClassInfo root, boolean interfaces) {
+		List<ClassInfo> visited = new ArrayList<>();
+		Set<String> seen = new HashSet<>();
+		Queue<ClassInfo> queue = new ArrayDeque<>();
+		ClassInfo classInfo = root;
+
+		do {
+			if (!seen.add(classInfo.getName())) continue;
+
+			visited.add(classInfo);
+			String jarSupertypes = supertypes.get(classInfo.getName());
+
+			if (jarSupertypes == null || !hasSupertypes(classInfo, jarSupertypes, interfaces)) {
+				return new Check(false, visited);
+			}
+
+			if (classInfo.getSuperName() != null && !classInfo.getSuperName().startsWith("java/")) {
+				ClassInfo superClass = classInfo.getSuperClass();
+				if (superClass == null) return new Check(false, visited);
+				queue.add(superClass);
+			}
+
+			if (interfaces) {
+				for (String itf : classInfo.getInterfaces()) {
+					if (itf.startsWith("java/")) continue;
+
+					ClassInfo itfInfo = ClassInfo.forName(itf);
+					if (itfInfo == null) return new Check(false, visited);
+					queue.add(itfInfo);
+				}
+			}
+		} while ((classInfo = queue.poll()) != null);
+
+		return new Check(true, visited);
+	}
+
+	private static boolean hasSupertypes(ClassInfo classInfo, String jarSupertypes, boolean interfaces) {
+		String[] names = split(jarSupertypes);
+		String superName = classInfo.getSuperName() != null ? classInfo.getSuperName() : "";
+		if (!names[0].equals(superName)) return false;
+		if (!interfaces) return true;
+
+		Set<String> itfs = classInfo.getInterfaces();
+		if (itfs.size() != names.length - 1) return false;
+
+		for (int i = 1; i < names.length; i++) {
+			if (!itfs.contains(names[i])) return false;
+		}
+
+		return true;
+	}
+
+	private static String[] get(StringTable table, Map<String, String[]> decoded, String className) {
+		String[] ancestors = decoded.get(className);
+
+		if (ancestors == null) {
+			String value = table.get(className);
+			if (value == null) return null;
+
+			ancestors = value.isEmpty() ? NONE : split(value);
+			decoded.putIfAbsent(className, ancestors);
+		}
+
+		return ancestors;
+	}
+
+	private static String[] split(String value) {
+		int count = 1;
+
+		for (int i = value.indexOf(SEPARATOR); i >= 0; i = value.indexOf(SEPARATOR, i + 1)) {
+			count++;
+		}
+
+		String[] result = new String[count];
+		int start = 0;
+
+		for (int i = 0; i < count; i++) {
+			int end = value.indexOf(SEPARATOR, start);
+			if (end < 0) end = value.length();
+			result[i] = value.substring(start, end);
+			start = end + 1;
+		}
+
+		return result;
+	}
+
+	/**
+	 * The result of comparing the supertypes of a class and its ancestors with the game jar.
+	 */
+	private static final class Check {
+		final boolean matches;
+		final VisitedClasses visited;
+
+		Check(boolean matches, List<ClassInfo> visited) {
+			this.matches = matches;
+			this.visited = new VisitedClasses(visited);
+		}
+	}
+}
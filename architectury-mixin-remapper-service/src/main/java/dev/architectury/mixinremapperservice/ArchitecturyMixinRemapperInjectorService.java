@@ -27,11 +27,17 @@ import cpw.mods.modlauncher.api.IEnvironment;
 import cpw.mods.modlauncher.api.ITransformationService;
 import cpw.mods.modlauncher.api.ITransformer;
 import cpw.mods.modlauncher.api.IncompatibleEnvironmentException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
+import java.lang.reflect.InvocationTargetException;
 import java.nio.file.Path;
 import java.util.*;
 
 public class ArchitecturyMixinRemapperInjectorService implements ITransformationService {
+	private static final Logger LOGGER = LogManager.getLogger("ArchitecturyRemapperInjector");
+	private static final String IMPL_CLASS = "dev.architectury.mixinremapperservice.ArchitecturyMixinRemapperInjectorServiceImpl";
+
 	@Override
 	public String name() {
 		return "ArchitecturyMixinRemapperInjector";
@@ -39,15 +45,22 @@ public class ArchitecturyMixinRemapperInjectorService implements ITransformation
 
 	@Override
 	public void initialize(IEnvironment environment) {
+		// in case onLoad wasn't called, this is still before scanning
+		invokeImpl("preload");
 	}
 
 	public void attach() {
+		invokeImpl("attach");
+	}
+
+	private static void invokeImpl(String method) {
 		try {
 			// Call via reflection so it doesn't crash if mixin doesn't exist at all
-			Class.forName("dev.architectury.mixinremapperservice.ArchitecturyMixinRemapperInjectorServiceImpl").getDeclaredMethod("attach")
-					.invoke(null);
+			Class.forName(IMPL_CLASS).getDeclaredMethod(method).invoke(null);
+		} catch (InvocationTargetException e) {
+			LOGGER.error("We have failed to {} our remapper.", method, e.getCause());
 		} catch (Throwable e) {
-			e.printStackTrace();
+			LOGGER.error("We have failed to {} our remapper.", method, e);
 		}
 	}
 
@@ -65,6 +78,8 @@ public class ArchitecturyMixinRemapperInjectorService implements ITransformation
 
 	@Override
 	public void onLoad(IEnvironment env, Set<String> otherServices) throws IncompatibleEnvironmentException {
+		// Start loading the mappings right away, attach() only waits for them
+		invokeImpl("preload");
 	}
 
 	@Override
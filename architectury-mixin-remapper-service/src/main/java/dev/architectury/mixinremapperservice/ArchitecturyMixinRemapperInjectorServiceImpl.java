@@ -23,46 +23,164 @@
 
 package dev.architectury.mixinremapperservice;
 
-import net.fabricmc.mappingio.MappingReader;
-import net.fabricmc.mappingio.tree.MappingTree;
-import net.fabricmc.mappingio.tree.MemoryMappingTree;
+import dev.architectury.mappingstore.LookupTrace;
+import dev.architectury.mappingstore.MappingIndex;
+import dev.architectury.mappingstore.MappingStore;
+import dev.architectury.mappingstore.MappingWatcher;
+import dev.architectury.mappingstore.Profiler;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.spongepowered.asm.mixin.MixinEnvironment;
+import org.spongepowered.asm.mixin.extensibility.IRemapper;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 public class ArchitecturyMixinRemapperInjectorServiceImpl {
 	private static final Logger LOGGER = LogManager.getLogger("ArchitecturyRemapperInjector");
 
 	private static final String MAPPINGS_PATH_PROPERTY = "architectury.mixinRemapper.mappingsPath";
 	private static final String SOURCE_NAMESPACE_PROPERTY = "architectury.mixinRemapper.sourceNamespace";
+	// A prebuilt index used instead of the mappings, see MappingIndexTool
+	private static final String INDEX_PATH_PROPERTY = "architectury.mixinRemapper.indexPath";
+
+	private static final Executor LOADER = task -> {
+		Thread thread = new Thread(task, "Architectury Mixin Remapper Loader");
+		thread.setDaemon(true);
+		thread.start();
+	};
+
+	private static CompletableFuture<MixinTables> tables;
+	// the lookups of the previous launch, with tracing and unless the tables are read from an index
+	private static CompletableFuture<LookupTrace> trace;
+	// the mappings the tables were built from, unless they were read from an index
+	private static volatile MappingStore mappings;
+
+	/**
+	 * Starts loading the tables in the background, so that it overlaps with ModLauncher's scanning.
+	 */
+	public static void preload() {
+		getTables();
+	}
+
+	private static synchronized CompletableFuture<MixinTables> getTables() {
+		if (tables == null) {
+			LOGGER.debug("Loading the mappings for our remapper in the background.");
+			// Only the tables are loaded in the background, they don't need Mixin on the classpath yet
+			tables = CompletableFuture.supplyAsync(ArchitecturyMixinRemapperInjectorServiceImpl::loadTables, LOADER);
+
+			if (System.getProperty(INDEX_PATH_PROPERTY) == null && LookupTrace.isEnabled()) {
+				trace = CompletableFuture.supplyAsync(ArchitecturyMixinRemapperInjectorServiceImpl::openTrace, LOADER);
+			}
+		}
+
+		return tables;
+	}
+
+	// the trace of our lookups, or null without tracing
+	private static LookupTrace getTrace() {
+		CompletableFuture<LookupTrace> future;
+
+		synchronized (ArchitecturyMixinRemapperInjectorServiceImpl.class) {
+			getTables();
+			future = trace;
+		}
+
+		return future != null ? future.join() : null;
+	}
 
 	public static void attach() {
 		LOGGER.debug("We will be injecting our remapper.");
+		long start = Profiler.start();
+		LookupTrace trace = getTrace();
+		IRemapper remapper;
+
+		if (trace != null) {
+			// lookups recorded during the previous launch are answered while the tables are still loading
+			remapper = new TracedRemapper(trace, getTables(), ArchitecturyMixinRemapperInjectorServiceImpl::createRemapper);
+		} else {
+			MixinTables tables;
+
+			try {
+				tables = getTables().join();
+			} catch (CompletionException e) {
+				LOGGER.error("Could not load the mappings for the mixin remapper, mixins will not be remapped.", e.getCause());
+				return;
+			}
+
+			remapper = createRemapper(tables);
+		}
+
+		Profiler.phase("mixin.awaitTables", start);
 
 		try {
-			String sourceNamespace = System.getProperty(SOURCE_NAMESPACE_PROPERTY);
-			MixinEnvironment.getDefaultEnvironment().getRemappers().add(new MixinIntermediaryDevRemapper(Objects.requireNonNull(resolveMappings()), sourceNamespace, "named"));
+			MixinEnvironment.getDefaultEnvironment().getRemappers().add(remapper);
 			LOGGER.debug("We have successfully injected our remapper.");
 		} catch (Exception e) {
-			LOGGER.debug("We have failed to inject our remapper.", e);
+			LOGGER.error("We have failed to inject our remapper.", e);
 		}
 	}
 
-	private static MappingTree resolveMappings() {
+	private static IRemapper createRemapper(MixinTables tables) {
+		if (mappings == null || !MappingWatcher.isEnabled()) {
+			return new MixinIntermediaryDevRemapper(tables);
+		}
+
+		ReloadableRemapper remapper = new ReloadableRemapper(tables);
+
+		try {
+			MappingWatcher.start("Architectury Mixin Remapper Watcher", Paths.get(getRequiredProperty(MAPPINGS_PATH_PROPERTY)), mappings, remapper);
+		} catch (IOException e) {
+			LOGGER.error("Could not watch the mappings for changes.", e);
+		}
+
+		return remapper;
+	}
+
+	private static MixinTables loadTables() {
+		String sourceNamespace = System.getProperty(SOURCE_NAMESPACE_PROPERTY);
+		String indexPathProperty = System.getProperty(INDEX_PATH_PROPERTY);
+
 		try {
-			String mappingsPathProperty = System.getProperty(MAPPINGS_PATH_PROPERTY);
-			Path path = Paths.get(mappingsPathProperty);
-
-			MemoryMappingTree mappingTree = new MemoryMappingTree();
-			MappingReader.read(path, mappingTree);
-			return mappingTree;
-		} catch (Throwable throwable) {
-			throwable.printStackTrace();
+			if (indexPathProperty != null) {
+				MappingIndex index = MappingIndex.load(Paths.get(indexPathProperty), sourceNamespace, "named");
+				String mappingsPathProperty = System.getProperty(MAPPINGS_PATH_PROPERTY);
+
+				// without the mappings, the index can't be checked and is used as is
+				if (mappingsPathProperty == null || index.isGeneratedFrom(Paths.get(mappingsPathProperty))) {
+					return MixinTables.read(index);
+				}
+
+				LOGGER.warn("Ignoring the mapping index {}, it was generated from other mappings than {}.", indexPathProperty, mappingsPathProperty);
+			}
+
+			Path path = Paths.get(getRequiredProperty(MAPPINGS_PATH_PROPERTY));
+
+			// The store is shared with the naming service, so the mappings are only parsed once
+			mappings = MappingStore.open(path, getRequiredProperty(SOURCE_NAMESPACE_PROPERTY), "named");
+			return MixinTables.build(mappings);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private static LookupTrace openTrace() {
+		try {
+			return LookupTrace.open(Paths.get(getRequiredProperty(MAPPINGS_PATH_PROPERTY)), "mixin", getRequiredProperty(SOURCE_NAMESPACE_PROPERTY), "named");
+		} catch (IOException | RuntimeException e) {
+			LOGGER.error("Could not trace the lookups of our remapper.", e);
 			return null;
 		}
 	}
+
+	private static String getRequiredProperty(String property) {
+		final String value = System.getProperty(property);
+		if (value == null) throw new RuntimeException("Missing required system property '" + property + "'!");
+		return value;
+	}
 }
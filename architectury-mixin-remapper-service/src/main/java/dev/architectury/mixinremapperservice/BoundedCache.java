@@ -0,0 +1,81 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.mixinremapperservice;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A bounded map backing the caches of the remappers, which are queried from every thread
+ * transforming classes.
+ *
+ * <p>Reads and writes never lock. Once the map is full, a quarter of its entries are dropped in iteration
+ * order, which is arbitrary and makes this a cheap approximation of random eviction. Only one thread evicts
+ * at a time; the others keep reading and writing instead of evicting the same entries again.
+ */
+final class BoundedCache<K, V> {
+	private final ConcurrentHashMap<K, V> entries = new ConcurrentHashMap<>();
+	private final AtomicBoolean evicting = new AtomicBoolean();
+	private final int maxSize;
+
+	/**
+	 * @param maxSize the maximum number of entries, or 0 to never cache anything
+	 */
+	BoundedCache(int maxSize) {
+		this.maxSize = maxSize;
+	}
+
+	V get(K key) {
+		return entries.get(key);
+	}
+
+	void put(K key, V value) {
+		if (maxSize <= 0) return;
+
+		if (entries.size() >= maxSize && evicting.compareAndSet(false, true)) {
+			try {
+				evict();
+			} finally {
+				evicting.set(false);
+			}
+		}
+
+		entries.put(key, value);
+	}
+
+	private void evict() {
+		int toRemove = Math.max(maxSize / 4, 1);
+		Iterator<K> iterator = entries.keySet().iterator();
+
+		while (toRemove-- > 0 && iterator.hasNext()) {
+			iterator.next();
+			iterator.remove();
+		}
+	}
+
+	void clear() {
+		entries.clear();
+	}
+}
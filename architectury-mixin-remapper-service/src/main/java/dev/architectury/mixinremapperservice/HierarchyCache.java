@@ -0,0 +1,131 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.mixinremapperservice;
+
+import org.spongepowered.asm.mixin.transformer.ClassInfo;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, concurrent cache of member names resolved by walking the class hierarchy,
+ * including lookups that didn't resolve to a mapping.
+ *
+ * <p>Each entry remembers the {@link ClassInfo}s visited by its walk and is only used while they're
+ * {@linkplain VisitedClasses#isCurrent current}. Stale entries are resolved again. Walks that couldn't
+ * resolve a supertype aren't cached at all, since Mixin may be able to load it by the next lookup.
+ */
+final class HierarchyCache {
+	private final BoundedCache<Key, Entry> entries;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	HierarchyCache(int maxSize) {
+		this.entries = new BoundedCache<>(maxSize);
+	}
+
+	/**
+	 * Gets a cached result.
+	 *
+	 * @param root the class info the hierarchy walk starts at
+	 * @return the cached name, or {@code null} if there is no valid cached result
+	 */
+	String get(String owner, String name, String desc, ClassInfo root) {
+		Entry entry = entries.get(new Key(owner, name, desc));
+
+		if (entry != null && entry.isValid(root)) {
+			hits.increment();
+			return entry.result;
+		}
+
+		misses.increment();
+		return null;
+	}
+
+	/**
+	 * Caches a result, unless the walk couldn't resolve a supertype.
+	 *
+	 * @param visited the class infos visited by the walk, starting with the root,
+	 *                and a {@code null} for every supertype without a class info
+	 */
+	void put(String owner, String name, String desc, String result, List<ClassInfo> visited) {
+		if (!visited.contains(null)) {
+			entries.put(new Key(owner, name, desc), new Entry(result, visited));
+		}
+	}
+
+	void invalidate() {
+		entries.clear();
+	}
+
+	long getHits() {
+		return hits.sum();
+	}
+
+	long getMisses() {
+		return misses.sum();
+	}
+
+	private static final class Key {
+		private final String owner;
+		private final String name;
+		private final String desc;
+		private final int hash;
+
+		Key(String owner, String name, String desc) {
+			this.owner = owner;
+			this.name = name;
+			this.desc = desc;
+			this.hash = (owner.hashCode() * 31 + name.hashCode()) * 31 + Objects.hashCode(desc);
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (!(o instanceof Key)) return false;
+			Key key = (Key) o;
+			return hash == key.hash && owner.equals(key.owner) && name.equals(key.name) && Objects.equals(desc, key.desc);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+
+	private static final class Entry {
+		private final String result;
+		private final VisitedClasses visited;
+
+		Entry(String result, List<ClassInfo> visited) {
+			this.result = result;
+			this.visited = new VisitedClasses(visited);
+		}
+
+		boolean isValid(ClassInfo root) {
+			return visited.isCurrent(root);
+		}
+	}
+}
@@ -17,56 +17,48 @@
 package dev.architectury.mixinremapperservice;
 
 import java.util.ArrayDeque;
-import java.util.Collection;
-import java.util.HashMap;
-import java.util.HashSet;
-import java.util.Map;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Queue;
-import java.util.Set;
 
+import dev.architectury.mappingstore.NameFilter;
+import dev.architectury.mappingstore.Profiler;
+import dev.architectury.mappingstore.StringTable;
 import net.fabricmc.mappingio.tree.MappingTreeView;
 import org.spongepowered.asm.mixin.transformer.ClassInfo;
 
 public class MixinIntermediaryDevRemapper extends MixinRemapper {
-	private static final String ambiguousName = "<ambiguous>"; // dummy value for ambiguous mappings - needs querying with additional owner and/or desc info
-
-	private final Set<String> allPossibleClassNames = new HashSet<>();
-	private final Map<String, String> nameFieldLookup = new HashMap<>();
-	private final Map<String, String> nameMethodLookup = new HashMap<>();
-	private final Map<String, String> nameDescFieldLookup = new HashMap<>();
-	private final Map<String, String> nameDescMethodLookup = new HashMap<>();
-
+	private static final int hierarchyCacheSize = Integer.getInteger("architectury.mixinRemapper.hierarchyCacheSize", 16384);
+	private static final Profiler.LookupStats methodLookups = Profiler.lookups("mixin.method");
+	private static final Profiler.LookupStats fieldLookups = Profiler.lookups("mixin.field");
+
+	private final StringTable allPossibleClassNames;
+	private final StringTable nameMethodLookup;
+	private final StringTable nameDescFieldLookup;
+	private final StringTable nameDescMethodLookup;
+	private final NameFilter fieldNames;
+	private final NameFilter methodNames;
+	private final AncestorTables ancestors; // null unless the tables were generated with the game jar
+	private final HierarchyCache methodHierarchyCache = new HierarchyCache(hierarchyCacheSize);
+	private final HierarchyCache fieldHierarchyCache = new HierarchyCache(hierarchyCacheSize);
+
+	/**
+	 * @deprecated copies the mappings out of the tree first, use {@link #MixinIntermediaryDevRemapper(MixinTables)}
+	 */
+	@Deprecated
 	public MixinIntermediaryDevRemapper(MappingTreeView mappings, String from, String to) {
-		super(mappings, from, to);
-
-		for (MappingTreeView.ClassMappingView classDef : mappings.getClasses()) {
-			allPossibleClassNames.add(classDef.getName(from));
-			allPossibleClassNames.add(classDef.getName(to));
-
-			putMemberInLookup(from, to, classDef.getFields(), nameFieldLookup, nameDescFieldLookup);
-			putMemberInLookup(from, to, classDef.getMethods(), nameMethodLookup, nameDescMethodLookup);
-		}
+		this(MixinTables.build(mappings, from, to));
 	}
 
-	private <T extends MappingTreeView.MemberMappingView> void putMemberInLookup(String from, String to, Collection<T> descriptored, Map<String, String> nameMap, Map<String, String> nameDescMap) {
-		for (T field : descriptored) {
-			String nameFrom = field.getName(from);
-			String descFrom = field.getDesc(from);
-			String nameTo = field.getName(to);
-
-			String prev = nameMap.putIfAbsent(nameFrom, nameTo);
-
-			if (prev != null && prev != ambiguousName && !prev.equals(nameTo)) {
-				nameDescMap.put(nameFrom, ambiguousName);
-			}
-
-			String key = getNameDescKey(nameFrom, descFrom);
-			prev = nameDescMap.putIfAbsent(key, nameTo);
-
-			if (prev != null && prev != ambiguousName && !prev.equals(nameTo)) {
-				nameDescMap.put(key, ambiguousName);
-			}
-		}
+	public MixinIntermediaryDevRemapper(MixinTables tables) {
+		super(tables);
+		this.allPossibleClassNames = tables.allPossibleClassNames;
+		this.nameMethodLookup = tables.nameMethodLookup;
+		this.nameDescFieldLookup = tables.nameDescFieldLookup;
+		this.nameDescMethodLookup = tables.nameDescMethodLookup;
+		this.fieldNames = tables.fieldNames;
+		this.methodNames = tables.methodNames;
+		this.ancestors = tables.ancestors;
 	}
 
 	private void throwAmbiguousLookup(String type, String name, String desc) {
@@ -97,21 +89,42 @@ public class MixinIntermediaryDevRemapper extends MixinRemapper {
 
 	@Override
 	public String mapMethodName(String owner, String name, String desc) {
+		long start = Profiler.start();
+
+		// a name without a mapping in any class has none in the hierarchy either, skip unmapping and walking it
+		if (!methodNames.mightContain(name)) {
+			methodLookups.recordRejected(start);
+			return name;
+		}
+
+		String result = resolveMethodName(owner, name, desc);
+		methodLookups.record(result != name, start); // the name is returned as-is without a mapping
+		return result;
+	}
+
+	private String resolveMethodName(String owner, String name, String desc) {
 		// handle unambiguous values early
-		if (owner == null || allPossibleClassNames.contains(owner)) {
+		if (owner == null || allPossibleClassNames.containsKey(owner)) {
 			String newName;
 
 			if (desc == null) {
 				newName = nameMethodLookup.get(name);
 			} else {
-				newName = nameDescMethodLookup.get(getNameDescKey(name, desc));
+				newName = nameDescMethodLookup.get(name, MixinTables.descKey(desc));
 			}
 
 			if (newName != null) {
-				if (newName == ambiguousName) {
+				if (MixinTables.isAmbiguous(newName)) {
+					Profiler.ambiguousLookup("method", name, desc);
+
 					if (owner == null) {
 						throwAmbiguousLookup("method", name, desc);
 					}
+
+					// ambiguous names are mostly looked up on the class declaring them,
+					// which the owner-qualified table answers without walking the hierarchy
+					String declared = super.mapMethodName(owner, name, desc);
+					if (!declared.equals(name)) return declared;
 				} else {
 					return newName;
 				}
@@ -124,7 +137,7 @@ public class MixinIntermediaryDevRemapper extends MixinRemapper {
 				String unmapDesc = unmapDesc(desc);
 
 				if (!unmapOwner.equals(owner) || !unmapDesc.equals(desc)) {
-					return mapMethodName(unmapOwner, name, unmapDesc);
+					return resolveMethodName(unmapOwner, name, unmapDesc);
 				} else {
 					// take advantage of the fact allPossibleClassNames
 					// and nameDescLookup cover all sets; if none are present,
@@ -140,12 +153,44 @@ public class MixinIntermediaryDevRemapper extends MixinRemapper {
 			return name;
 		}
 
+		String[] ancestors = getMethodAncestors(classInfo, null);
+
+		if (ancestors != null) {
+			return mapMethodNameInAncestors(ancestors, name, desc);
+		}
+
+		String cached = methodHierarchyCache.get(owner, name, desc, classInfo);
+
+		if (cached != null) {
+			return cached;
+		}
+
+		List<ClassInfo> visited = new ArrayList<>();
+		String result = mapMethodNameInHierarchy(classInfo, name, desc, visited);
+		Profiler.hierarchyWalk("method", owner, name, visited.size());
+		methodHierarchyCache.put(owner, name, desc, result, visited);
+		return result;
+	}
+
+	private String mapMethodNameInHierarchy(ClassInfo classInfo, String name, String desc, List<ClassInfo> visited) {
 		Queue<ClassInfo> queue = new ArrayDeque<>();
 
 		do {
-			String ownerO = unmap(classInfo.getName());
+			visited.add(classInfo);
+			String[] ancestors = getMethodAncestors(classInfo, visited);
 			String s;
 
+			if (ancestors != null) {
+				// a game class with the supertypes of the jar, which are all covered by its ancestors
+				if (!(s = mapMethodNameInAncestors(ancestors, name, desc)).equals(name)) {
+					return s;
+				}
+
+				continue;
+			}
+
+			String ownerO = unmap(classInfo.getName());
+
 			if (!(s = mapMethodNameInner(ownerO, name, desc)).equals(name)) {
 				return s;
 			}
@@ -155,6 +200,8 @@ public class MixinIntermediaryDevRemapper extends MixinRemapper {
 
 				if (cSuper != null) {
 					queue.add(cSuper);
+				} else {
+					visited.add(null); // not resolved (yet), see HierarchyCache.put
 				}
 			}
 
@@ -167,6 +214,8 @@ public class MixinIntermediaryDevRemapper extends MixinRemapper {
 
 				if (cItf != null) {
 					queue.add(cItf);
+				} else {
+					visited.add(null);
 				}
 			}
 		} while ((classInfo = queue.poll()) != null);
@@ -174,17 +223,53 @@ public class MixinIntermediaryDevRemapper extends MixinRemapper {
 		return name;
 	}
 
+	private String mapMethodNameInAncestors(String[] ancestors, String name, String desc) {
+		for (String owner : ancestors) {
+			String s = mapMethodNameInner(owner, name, desc);
+
+			if (!s.equals(name)) {
+				return s;
+			}
+		}
+
+		return name;
+	}
+
+	private String[] getMethodAncestors(ClassInfo classInfo, List<ClassInfo> visited) {
+		return ancestors != null ? ancestors.getMethodAncestors(classInfo, visited) : null;
+	}
+
 	@Override
 	public String mapFieldName(String owner, String name, String desc) {
+		long start = Profiler.start();
+
+		if (!fieldNames.mightContain(name)) {
+			fieldLookups.recordRejected(start);
+			return name;
+		}
+
+		String result = resolveFieldName(owner, name, desc);
+		fieldLookups.record(result != name, start); // the name is returned as-is without a mapping
+		return result;
+	}
+
+	private String resolveFieldName(String owner, String name, String desc) {
 		// handle unambiguous values early
-		if (owner == null || allPossibleClassNames.contains(owner)) {
-			String newName = nameDescFieldLookup.get(getNameDescKey(name, desc));
+		if (owner == null || allPossibleClassNames.containsKey(owner)) {
+			String newName = nameDescFieldLookup.get(name, MixinTables.descKey(desc));
 
 			if (newName != null) {
-				if (newName == ambiguousName) {
+				if (MixinTables.isAmbiguous(newName)) {
+					Profiler.ambiguousLookup("field", name, desc);
+
 					if (owner == null) {
 						throwAmbiguousLookup("field", name, desc);
 					}
+
+					// ambiguous names are mostly looked up on the class declaring them,
+					// which the owner-qualified table answers without walking the hierarchy
+					String declared = super.mapFieldName(owner, name, desc);
+					if (!declared.equals(name)) return declared;
 				} else {
 					return newName;
 				}
@@ -197,7 +282,7 @@ public class MixinIntermediaryDevRemapper extends MixinRemapper {
 				String unmapDesc = unmapDesc(desc);
 
 				if (!unmapOwner.equals(owner) || !unmapDesc.equals(desc)) {
-					return mapFieldName(unmapOwner, name, unmapDesc);
+					return resolveFieldName(unmapOwner, name, unmapDesc);
 				} else {
 					// take advantage of the fact allPossibleClassNames
 					// and nameDescLookup cover all sets; if none are present,
@@ -209,7 +294,39 @@ public class MixinIntermediaryDevRemapper extends MixinRemapper {
 
 		ClassInfo c = ClassInfo.forName(map(owner));
 
+		if (c == null) {
+			return name;
+		}
+
+		String[] ancestors = getFieldAncestors(c, null);
+
+		if (ancestors != null) {
+			return mapFieldNameInAncestors(ancestors, name, desc);
+		}
+
+		String cached = fieldHierarchyCache.get(owner, name, desc, c);
+
+		if (cached != null) {
+			return cached;
+		}
+
+		List<ClassInfo> visited = new ArrayList<>();
+		String result = mapFieldNameInHierarchy(c, name, desc, visited);
+		Profiler.hierarchyWalk("field", owner, name, visited.size());
+		fieldHierarchyCache.put(owner, name, desc, result, visited);
+		return result;
+	}
+
+	private String mapFieldNameInHierarchy(ClassInfo c, String name, String desc, List<ClassInfo> visited) {
 		while (c != null) {
+			visited.add(c);
+			String[] ancestors = getFieldAncestors(c, visited);
+
+			if (ancestors != null) {
+				// a game class with the super classes of the jar, which are all covered by its ancestors
+				return mapFieldNameInAncestors(ancestors, name, desc);
+			}
+
 			String nextOwner = unmap(c.getName());
 			String s = mapFieldNameInner(nextOwner, name, desc);
 
@@ -222,12 +339,45 @@ public class MixinIntermediaryDevRemapper extends MixinRemapper {
 			}
 
 			c = c.getSuperClass();
+
+			if (c == null) {
+				visited.add(null); // not resolved (yet), see HierarchyCache.put
+			}
 		}
 
 		return name;
 	}
 
-	private static String getNameDescKey(String name, String descriptor) {
-		return name + ";;" + descriptor;
+	private String mapFieldNameInAncestors(String[] ancestors, String name, String desc) {
+		for (String owner : ancestors) {
+			String s = mapFieldNameInner(owner, name, desc);
+
+			if (!s.equals(name)) {
+				return s;
+			}
+		}
+
+		return name;
+	}
+
+	private String[] getFieldAncestors(ClassInfo c, List<ClassInfo> visited) {
+		return ancestors != null ? ancestors.getFieldAncestors(c, visited) : null;
+	}
+
+	/**
+	 * Drops all cached hierarchy lookups, eg. after classes have been redefined.
+	 * Entries are also revalidated against the current class infos on every hit.
+	 */
+	public void invalidateHierarchyCache() {
+		methodHierarchyCache.invalidate();
+		fieldHierarchyCache.invalidate();
+	}
+
+	public long getHierarchyCacheHits() {
+		return methodHierarchyCache.getHits() + fieldHierarchyCache.getHits();
+	}
+
+	public long getHierarchyCacheMisses() {
+		return methodHierarchyCache.getMisses() + fieldHierarchyCache.getMisses();
 	}
 }
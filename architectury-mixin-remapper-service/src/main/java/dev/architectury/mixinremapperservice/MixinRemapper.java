@@ -23,55 +23,230 @@
 
 package dev.architectury.mixinremapperservice;
 
+import dev.architectury.mappingstore.ParallelBuild;
+import dev.architectury.mappingstore.Profiler;
+import dev.architectury.mappingstore.StringTable;
 import net.fabricmc.mappingio.tree.MappingTreeView;
 import org.spongepowered.asm.mixin.extensibility.IRemapper;
 
 class MixinRemapper implements IRemapper {
-    private final MappingTreeView mappings;
-    private final int from;
-    private final int to;
+    private static final int descCacheSize = Integer.getInteger("architectury.mixinRemapper.descCacheSize", 8192);
+    // larger batches are remapped in parallel, in partitions of this size
+    private static final int BATCH_PARTITION_SIZE = 4096;
+    private final StringTable classNames;
+    private final StringTable classNamesReversed;
+    private final StringTable methods;
+    private final StringTable methodsByName;
+    private final StringTable fields;
+    private final StringTable fieldsByName;
+    private final BoundedCache<String, String> mappedDescs = new BoundedCache<>(descCacheSize);
+    private final BoundedCache<String, String> unmappedDescs = new BoundedCache<>(descCacheSize);
 
+    /**
+     * @deprecated copies the mappings out of the tree first, use {@link #MixinRemapper(MixinTables)}
+     */
+    @Deprecated
     MixinRemapper(MappingTreeView mappings, String from, String to) {
-        this.mappings = mappings;
-        this.from = mappings.getNamespaceId(from);
-        this.to = mappings.getNamespaceId(to);
-
-        if (this.from == MappingTreeView.NULL_NAMESPACE_ID) {
-            throw new IllegalArgumentException("Source ns '" + from + "' not present in mapping tree");
-        } else if (this.to == MappingTreeView.NULL_NAMESPACE_ID) {
-            throw new IllegalArgumentException("Target ns '" + to + "' not present in mapping tree");
-        }
+        this(MixinTables.build(mappings, from, to));
+    }
+
+    MixinRemapper(MixinTables tables) {
+        this.classNames = tables.classNames;
+        this.classNamesReversed = tables.classNamesReversed;
+        this.methods = tables.methods;
+        this.methodsByName = tables.methodsByName;
+        this.fields = tables.fields;
+        this.fieldsByName = tables.fieldsByName;
     }
 
     @Override
     public String mapMethodName(String owner, String name, String desc) {
-        final MappingTreeView.MethodMappingView method = mappings.getMethod(owner, name, desc, from);
-        return method != null ? method.getName(to) : name;
+        if (owner == null) return name;
+        final String mapped = desc != null ? methods.get(owner, name, desc) : methodsByName.get(owner, name);
+        return mapped != null ? mapped : name;
     }
 
     @Override
     public String mapFieldName(String owner, String name, String desc) {
-        final MappingTreeView.FieldMappingView field = mappings.getField(owner, name, desc, from);
-        return field != null ? field.getName(to) : name;
+        if (owner == null) return name;
+        final String mapped = desc != null ? fields.get(owner, name, desc) : fieldsByName.get(owner, name);
+        return mapped != null ? mapped : name;
     }
 
     @Override
     public String map(String typeName) {
-        return mappings.mapClassName(typeName, from, to);
+        return classNames.getOrDefault(typeName, typeName);
     }
 
     @Override
     public String unmap(String typeName) {
-        return mappings.mapClassName(typeName, to, from);
+        return classNamesReversed.getOrDefault(typeName, typeName);
     }
 
     @Override
     public String mapDesc(String desc) {
-        return mappings.mapDesc(desc, from, to);
+        return remapDesc(desc, classNames, mappedDescs);
     }
 
     @Override
     public String unmapDesc(String desc) {
-        return mappings.mapDesc(desc, to, from);
+        return remapDesc(desc, classNamesReversed, unmappedDescs);
+    }
+
+    /**
+     * Remaps a batch of methods in one pass, where {@code owners[i]}, {@code names[i]} and {@code descs[i]}
+     * make up one method. Large batches are remapped in parallel.
+     *
+     * @param descs the descriptors, or {@code null} if none of the methods has one
+     * @return the mapped names, in the order of {@code names}
+     */
+    public String[] mapMethodNames(String[] owners, String[] names, String[] descs) {
+        checkBatch(owners, names, descs);
+        long start = Profiler.start();
+        String[] result = new String[names.length];
+
+        ParallelBuild.run(names.length, BATCH_PARTITION_SIZE, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                result[i] = mapMethodName(owners[i], names[i], descs != null ? descs[i] : null);
+            }
+        });
+
+        Profiler.phase("mixin.remapBatch", start);
+        return result;
+    }
+
+    /**
+     * Remaps a batch of fields in one pass, like {@link #mapMethodNames}.
+     */
+    public String[] mapFieldNames(String[] owners, String[] names, String[] descs) {
+        checkBatch(owners, names, descs);
+        long start = Profiler.start();
+        String[] result = new String[names.length];
+
+        ParallelBuild.run(names.length, BATCH_PARTITION_SIZE, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                result[i] = mapFieldName(owners[i], names[i], descs != null ? descs[i] : null);
+            }
+        });
+
+        Profiler.phase("mixin.remapBatch", start);
+        return result;
+    }
+
+    /**
+     * Maps a batch of class names in one pass.
+     */
+    public String[] mapAll(String[] typeNames) {
+        long start = Profiler.start();
+        String[] result = new String[typeNames.length];
+
+        ParallelBuild.run(typeNames.length, BATCH_PARTITION_SIZE, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                result[i] = map(typeNames[i]);
+            }
+        });
+
+        Profiler.phase("mixin.remapBatch", start);
+        return result;
+    }
+
+    /**
+     * Maps a batch of descriptors in one pass.
+     */
+    public String[] mapDescs(String[] descs) {
+        long start = Profiler.start();
+        String[] result = new String[descs.length];
+
+        ParallelBuild.run(descs.length, BATCH_PARTITION_SIZE, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                result[i] = mapDesc(descs[i]);
+            }
+        });
+
+        Profiler.phase("mixin.remapBatch", start);
+        return result;
+    }
+
+    private static void checkBatch(String[] owners, String[] names, String[] descs) {
+        if (owners.length != names.length || descs != null && descs.length != names.length) {
+            throw new IllegalArgumentException("Got " + owners.length + " owners and " + (descs != null ? descs.length : 0)
+                    + " descriptors for " + names.length + " names");
+        }
+    }
+
+    /**
+     * Remaps the class references in a descriptor.
+     *
+     * <p>Most descriptors only reference primitives, JDK classes or classes without mappings. Those are
+     * detected with a single scan and returned as-is, without allocating a new string. Descriptors
+     * that do change are memoized.
+     */
+    private static String remapDesc(String desc, StringTable classNames, BoundedCache<String, String> cache) {
+        if (desc == null || !needsRemapping(desc, classNames)) {
+            return desc;
+        }
+
+        String cached = cache.get(desc);
+
+        if (cached == null) {
+            cached = rewriteDesc(desc, classNames);
+            cache.put(desc, cached);
+        }
+
+        return cached;
+    }
+
+    private static boolean needsRemapping(String desc, StringTable classNames) {
+        int length = desc.length();
+
+        for (int i = 0; i < length; i++) {
+            if (desc.charAt(i) != 'L') continue;
+
+            int end = desc.indexOf(';', i + 1);
+
+            // Malformed, leave it to rewriteDesc
+            if (end < 0) return true;
+
+            if (mapClassName(desc, i + 1, end, classNames) != null) {
+                return true;
+            }
+
+            i = end;
+        }
+
+        return false;
+    }
+
+    private static String rewriteDesc(String desc, StringTable classNames) {
+        StringBuilder sb = new StringBuilder(desc.length() + 16);
+        int length = desc.length();
+        int start = 0;
+
+        for (int i = 0; i < length; i++) {
+            if (desc.charAt(i) != 'L') continue;
+
+            int end = desc.indexOf(';', i + 1);
+            if (end < 0) break;
+
+            String mapped = mapClassName(desc, i + 1, end, classNames);
+
+            if (mapped != null) {
+                sb.append(desc, start, i + 1).append(mapped);
+                start = end;
+            }
+
+            i = end;
+        }
+
+        return sb.append(desc, start, length).toString();
+    }
+
+    /**
+     * Maps the class name between {@code start} and {@code end} of a descriptor, or returns {@code null}
+     * if it has no mapping. JDK classes never have one, so they're skipped without looking them up.
+     */
+    private static String mapClassName(String desc, int start, int end, StringTable classNames) {
+        if (desc.startsWith("java/", start)) return null;
+        return classNames.get(desc, start, end - start);
     }
 }
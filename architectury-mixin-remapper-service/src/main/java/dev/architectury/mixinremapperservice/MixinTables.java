@@ -0,0 +1,349 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.mixinremapperservice;
+
+import dev.architectury.mappingstore.MappingDiff;
+import dev.architectury.mappingstore.MappingIndex;
+import dev.architectury.mappingstore.MappingStore;
+import dev.architectury.mappingstore.NameFilter;
+import dev.architectury.mappingstore.ParallelBuild;
+import dev.architectury.mappingstore.Profiler;
+import dev.architectury.mappingstore.StringTable;
+import net.fabricmc.mappingio.tree.MappingTreeView;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The lookup tables of the {@link MixinIntermediaryDevRemapper}, built either at runtime
+ * or ahead of time into a {@link MappingIndex}.
+ */
+public final class MixinTables {
+	static final String AMBIGUOUS_NAME = "<ambiguous>"; // dummy value for ambiguous mappings - needs querying with additional owner and/or desc info
+
+	private static final int PARTITION_SIZE = 512; // classes per partition when building the tables in parallel
+	private static final String PREFIX = "mixin.";
+	private static final String[] TABLE_NAMES = {
+			"classNames", "classNamesReversed", "methods", "methodsByName", "fields", "fieldsByName",
+			"allPossibleClassNames", "nameField", "nameMethod", "nameDescField", "nameDescMethod"
+	};
+	// the class name tables are probed by nearly every lookup, and the index can afford building perfect hashes
+	private static final List<String> PERFECT_TABLE_NAMES = Arrays.asList("classNames", "classNamesReversed", "allPossibleClassNames");
+
+	final String sourceNamespace;
+	final String targetNamespace;
+	// class names in both directions, only for classes that are renamed
+	final StringTable classNames;
+	final StringTable classNamesReversed;
+	// members keyed by owner, name and desc, and by owner and name for lookups without a desc
+	final StringTable methods;
+	final StringTable methodsByName;
+	final StringTable fields;
+	final StringTable fieldsByName;
+	// class names of both namespaces, as keys
+	final StringTable allPossibleClassNames;
+	// members keyed by name and by name and desc regardless of their owner, or ambiguous
+	final StringTable nameFieldLookup;
+	final StringTable nameMethodLookup;
+	final StringTable nameDescFieldLookup;
+	final StringTable nameDescMethodLookup;
+	// member names with a mapping in any class, built from the name lookups instead of being stored
+	final NameFilter fieldNames;
+	final NameFilter methodNames;
+	// the class hierarchy of the game, only present if the index was generated with the game jar
+	final AncestorTables ancestors;
+
+	private MixinTables(String sourceNamespace, String targetNamespace, StringTable[] tables, AncestorTables ancestors) {
+		this.sourceNamespace = sourceNamespace;
+		this.targetNamespace = targetNamespace;
+		this.classNames = tables[0];
+		this.classNamesReversed = tables[1];
+		this.methods = tables[2];
+		this.methodsByName = tables[3];
+		this.fields = tables[4];
+		this.fieldsByName = tables[5];
+		this.allPossibleClassNames = tables[6];
+		this.nameFieldLookup = tables[7];
+		this.nameMethodLookup = tables[8];
+		this.nameDescFieldLookup = tables[9];
+		this.nameDescMethodLookup = tables[10];
+		this.fieldNames = NameFilter.of(nameFieldLookup);
+		this.methodNames = NameFilter.of(nameMethodLookup);
+		this.ancestors = ancestors;
+	}
+
+	private StringTable[] getTables() {
+		return new StringTable[] {
+				classNames, classNamesReversed, methods, methodsByName, fields, fieldsByName,
+				allPossibleClassNames, nameFieldLookup, nameMethodLookup, nameDescFieldLookup, nameDescMethodLookup
+		};
+	}
+
+	/**
+	 * Builds the tables for the mappings from the store's source to its target namespace.
+	 */
+	public static MixinTables build(MappingStore mappings) {
+		return build(mappings, PARTITION_SIZE);
+	}
+
+	/**
+	 * Builds the tables for the mappings between two namespaces of a mapping tree, for the constructors of the remappers
+	 * that still take a tree.
+	 */
+	static MixinTables build(MappingTreeView mappings, String from, String to) {
+		try {
+			return build(MappingStore.of(mappings, from, to));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	// the partition size is only chosen by the tests, which compare parallel builds with sequential ones
+	static MixinTables build(MappingStore mappings, int partitionSize) {
+		long startTime = Profiler.start();
+		Tables tables = ParallelBuild.build(mappings.getClassCount(), partitionSize, (start, end) -> {
+			Tables partition = new Tables();
+
+			for (int cls = start; cls < end; cls++) {
+				partition.addClass(mappings, cls, null);
+			}
+
+			return partition;
+		}, Tables::merge);
+
+		MixinTables result = new MixinTables(mappings.getSourceNamespace(), mappings.getTargetNamespace(), tables.build(), null);
+		Profiler.phase("mixin.buildTables", startTime);
+		return result;
+	}
+
+	/**
+	 * Updates tables built from the previous mappings to the next ones, only replacing the entries of changed names.
+	 * The ancestor tables depend on the game jar and are dropped, so hierarchy lookups walk the class infos again.
+	 */
+	public MixinTables update(MappingStore previous, MappingStore next, MappingDiff diff) {
+		if (diff.isFull()) return build(next);
+
+		long startTime = Profiler.start();
+		Tables removed = new Tables();
+		Tables added = new Tables();
+
+		for (int cls = 0; cls < previous.getClassCount(); cls++) {
+			removed.addClass(previous, cls, diff);
+		}
+
+		for (int cls = 0; cls < next.getClassCount(); cls++) {
+			added.addClass(next, cls, diff);
+		}
+
+		StringTable[] tables = getTables();
+		StringTable.Builder[] removedTables = removed.getBuilders();
+		StringTable.Builder[] addedTables = added.getBuilders();
+
+		for (int i = 0; i < tables.length; i++) {
+			tables[i] = tables[i].update(removedTables[i], addedTables[i]);
+		}
+
+		MixinTables result = new MixinTables(sourceNamespace, targetNamespace, tables, null);
+		Profiler.phase("mixin.updateTables", startTime);
+		return result;
+	}
+
+	public static MixinTables read(MappingIndex index) {
+		StringTable[] tables = new StringTable[TABLE_NAMES.length];
+
+		for (int i = 0; i < tables.length; i++) {
+			tables[i] = index.getTable(PREFIX + TABLE_NAMES[i]);
+		}
+
+		return new MixinTables(index.getSourceNamespace(), index.getTargetNamespace(), tables, AncestorTables.read(index));
+	}
+
+	public void write(MappingIndex.Writer index) {
+		StringTable[] tables = getTables();
+
+		for (int i = 0; i < tables.length; i++) {
+			boolean perfect = PERFECT_TABLE_NAMES.contains(TABLE_NAMES[i]);
+			index.put(PREFIX + TABLE_NAMES[i], perfect ? new StringTable.Builder(tables[i]).buildPerfect() : tables[i]);
+		}
+
+		if (ancestors != null) {
+			ancestors.write(index);
+		}
+	}
+
+	/**
+	 * Gets the names of the tables whose entries differ from the ones of {@code other}, not counting the ancestor tables.
+	 */
+	public List<String> getDifferentTables(MixinTables other) {
+		StringTable[] tables = getTables();
+		StringTable[] otherTables = other.getTables();
+		List<String> different = new ArrayList<>();
+
+		for (int i = 0; i < tables.length; i++) {
+			if (!tables[i].contentEquals(otherTables[i])) different.add(TABLE_NAMES[i]);
+		}
+
+		return different;
+	}
+
+	/**
+	 * Returns a copy of these tables that resolves hierarchy lookups with the given ancestor tables
+	 * instead of walking the class infos of Mixin.
+	 */
+	public MixinTables withAncestors(AncestorTables ancestors) {
+		return new MixinTables(sourceNamespace, targetNamespace, getTables(), ancestors);
+	}
+
+	// the ambiguous marker is compared by value, since tables read from an index have their own copy
+	static boolean isAmbiguous(String name) {
+		return AMBIGUOUS_NAME.equals(name);
+	}
+
+	// members without a descriptor are keyed and looked up with an empty one, which never occurs otherwise
+	static String descKey(String desc) {
+		return desc != null ? desc : "";
+	}
+
+	// merges name+desc values like putMemberInLookup: any two different values make the entry ambiguous
+	private static String mergeNameDesc(String current, String later) {
+		return isAmbiguous(current) || isAmbiguous(later) || !current.equals(later) ? AMBIGUOUS_NAME : current;
+	}
+
+	private static void putMemberInLookup(String nameFrom, String descFrom, String nameTo, StringTable.Builder nameMap, StringTable.Builder nameDescMap) {
+		String prev = nameMap.putIfAbsent(nameFrom, nameTo);
+
+		if (prev != null && !isAmbiguous(prev) && !prev.equals(nameTo)) {
+			nameDescMap.put(nameFrom, AMBIGUOUS_NAME);
+		}
+
+		prev = nameDescMap.putIfAbsent(nameFrom, descKey(descFrom), nameTo);
+
+		if (prev != null && !isAmbiguous(prev) && !prev.equals(nameTo)) {
+			nameDescMap.put(nameFrom, descKey(descFrom), AMBIGUOUS_NAME);
+		}
+	}
+
+	private static void putOwnedMember(String owner, String name, String desc, String nameTo, StringTable.Builder byDesc, StringTable.Builder byName) {
+		if (owner == null) return;
+		if (desc != null) byDesc.putIfAbsent(owner, name, desc, nameTo);
+		byName.putIfAbsent(owner, name, nameTo);
+	}
+
+	/**
+	 * The tables built from a partition of the classes.
+	 */
+	private static final class Tables {
+		final StringTable.Builder classNames = new StringTable.Builder();
+		final StringTable.Builder classNamesReversed = new StringTable.Builder();
+		final StringTable.Builder methods = new StringTable.Builder();
+		final StringTable.Builder methodsByName = new StringTable.Builder();
+		final StringTable.Builder fields = new StringTable.Builder();
+		final StringTable.Builder fieldsByName = new StringTable.Builder();
+		final StringTable.Builder allPossibleClassNames = new StringTable.Builder();
+		final StringTable.Builder nameFieldLookup = new StringTable.Builder();
+		final StringTable.Builder nameMethodLookup = new StringTable.Builder();
+		final StringTable.Builder nameDescFieldLookup = new StringTable.Builder();
+		final StringTable.Builder nameDescMethodLookup = new StringTable.Builder();
+
+		/**
+		 * Adds the entries of a class, or only the ones with keys affected by the diff unless it's null.
+		 */
+		void addClass(MappingStore mappings, int cls, MappingDiff diff) {
+			String owner = mappings.getClassSrcName(cls);
+			String ownerTo = mappings.getClassDstName(cls);
+			boolean ownerAffected = diff == null || owner != null && diff.affectsClass(owner);
+
+			if (owner != null && ownerAffected) allPossibleClassNames.put(owner, "");
+			if (ownerTo != null && (diff == null || diff.affectsClass(ownerTo))) allPossibleClassNames.put(ownerTo, "");
+
+			if (owner != null && ownerTo != null && !owner.equals(ownerTo)) {
+				if (ownerAffected) classNames.putIfAbsent(owner, ownerTo);
+				if (diff == null || diff.affectsClass(ownerTo)) classNamesReversed.putIfAbsent(ownerTo, owner);
+			}
+
+			for (int field = mappings.getFieldStart(cls), end = mappings.getFieldEnd(cls); field < end; field++) {
+				String name = mappings.getFieldSrcName(field);
+				String nameTo = mappings.getFieldDstName(field);
+				if (name == null || nameTo == null) continue; // missing in either namespace, same as not having a mapping at all
+
+				String desc = mappings.getFieldSrcDesc(field);
+				if (diff == null || diff.affectsField(name)) putMemberInLookup(name, desc, nameTo, nameFieldLookup, nameDescFieldLookup);
+				if (ownerAffected) putOwnedMember(owner, name, desc, nameTo, fields, fieldsByName);
+			}
+
+			for (int method = mappings.getMethodStart(cls), end = mappings.getMethodEnd(cls); method < end; method++) {
+				String name = mappings.getMethodSrcName(method);
+				String nameTo = mappings.getMethodDstName(method);
+				if (name == null || nameTo == null) continue;
+
+				String desc = mappings.getMethodSrcDesc(method);
+				if (diff == null || diff.affectsMethod(name)) putMemberInLookup(name, desc, nameTo, nameMethodLookup, nameDescMethodLookup);
+				if (ownerAffected) putOwnedMember(owner, name, desc, nameTo, methods, methodsByName);
+			}
+		}
+
+		/**
+		 * Merges the tables of the following partition into these, with the same result
+		 * as if its classes had been added sequentially after the ones in this partition.
+		 */
+		Tables merge(Tables next) {
+			// the first mapping of a name wins
+			classNames.merge(next.classNames, (current, later) -> current);
+			classNamesReversed.merge(next.classNamesReversed, (current, later) -> current);
+			methods.merge(next.methods, (current, later) -> current);
+			methodsByName.merge(next.methodsByName, (current, later) -> current);
+			fields.merge(next.fields, (current, later) -> current);
+			fieldsByName.merge(next.fieldsByName, (current, later) -> current);
+			allPossibleClassNames.merge(next.allPossibleClassNames, (current, later) -> current);
+			// a name the later partition maps differently makes the name alone ambiguous, like in putMemberInLookup
+			nameFieldLookup.merge(next.nameFieldLookup, (current, later) -> current, name -> nameDescFieldLookup.put(name, AMBIGUOUS_NAME));
+			nameMethodLookup.merge(next.nameMethodLookup, (current, later) -> current, name -> nameDescMethodLookup.put(name, AMBIGUOUS_NAME));
+			nameDescFieldLookup.merge(next.nameDescFieldLookup, MixinTables::mergeNameDesc);
+			nameDescMethodLookup.merge(next.nameDescMethodLookup, MixinTables::mergeNameDesc);
+			return this;
+		}
+
+		// in the order of TABLE_NAMES
+		StringTable.Builder[] getBuilders() {
+			return new StringTable.Builder[] {
+					classNames, classNamesReversed, methods, methodsByName, fields, fieldsByName,
+					allPossibleClassNames, nameFieldLookup, nameMethodLookup, nameDescFieldLookup, nameDescMethodLookup
+			};
+		}
+
+		StringTable[] build() {
+			StringTable.Builder[] builders = getBuilders();
+			StringTable[] tables = new StringTable[builders.length];
+
+			for (int i = 0; i < builders.length; i++) {
+				tables[i] = builders[i].build();
+			}
+
+			return tables;
+		}
+	}
+}
@@ -0,0 +1,91 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.mixinremapperservice;
+
+import dev.architectury.mappingstore.MappingDiff;
+import dev.architectury.mappingstore.MappingStore;
+import dev.architectury.mappingstore.MappingWatcher;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.spongepowered.asm.mixin.extensibility.IRemapper;
+
+/**
+ * The remapper registered with Mixin while watching the mappings, which delegates to a remapper
+ * for the current tables. Reloads replace the delegate at once, so every lookup uses either the
+ * previous or the updated tables, and lookups never wait for a reload.
+ */
+class ReloadableRemapper implements IRemapper, MappingWatcher.Listener {
+	private static final Logger LOGGER = LogManager.getLogger("ArchitecturyRemapperInjector");
+
+	private MixinTables tables; // only accessed on the watcher thread after construction
+	private volatile MixinIntermediaryDevRemapper delegate;
+
+	ReloadableRemapper(MixinTables tables) {
+		this.tables = tables;
+		this.delegate = new MixinIntermediaryDevRemapper(tables);
+	}
+
+	@Override
+	public void onReload(MappingStore previous, MappingStore next, MappingDiff diff) {
+		tables = tables.update(previous, next, diff);
+		// a new remapper also starts with empty hierarchy caches, which may hold stale names
+		delegate = new MixinIntermediaryDevRemapper(tables);
+		LOGGER.info("Reloaded the mappings of our remapper, {} classes changed.", diff.isFull() ? "all" : diff.getChangedClassCount());
+	}
+
+	@Override
+	public void onFailure(Exception e) {
+		LOGGER.error("Could not reload the mappings of our remapper, keeping the previous ones.", e);
+	}
+
+	@Override
+	public String mapMethodName(String owner, String name, String desc) {
+		return delegate.mapMethodName(owner, name, desc);
+	}
+
+	@Override
+	public String mapFieldName(String owner, String name, String desc) {
+		return delegate.mapFieldName(owner, name, desc);
+	}
+
+	@Override
+	public String map(String typeName) {
+		return delegate.map(typeName);
+	}
+
+	@Override
+	public String unmap(String typeName) {
+		return delegate.unmap(typeName);
+	}
+
+	@Override
+	public String mapDesc(String desc) {
+		return delegate.mapDesc(desc);
+	}
+
+	@Override
+	public String unmapDesc(String desc) {
+		return delegate.unmapDesc(desc);
+	}
+}
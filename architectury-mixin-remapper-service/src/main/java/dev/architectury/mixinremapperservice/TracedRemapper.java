@@ -0,0 +1,172 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.mixinremapperservice;
+
+import dev.architectury.mappingstore.LookupTrace;
+import dev.architectury.mappingstore.StringTable;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.spongepowered.asm.mixin.extensibility.IRemapper;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * The remapper registered with Mixin while tracing lookups, see {@link LookupTrace}. Until the tables
+ * are built, lookups recorded during the previous launch are answered from its trace, so Mixin doesn't
+ * have to wait for the tables to start applying mixins. Any other lookup waits for the tables. Only lookups
+ * made before the tables are built are recorded, the ones from the previous trace are kept without recording them.
+ *
+ * <p>Member lookups are only recorded on classes of the mappings or without an owner. Lookups on other
+ * classes walk their hierarchy, which can change between launches with the same mappings, eg. when a mod is updated.
+ */
+class TracedRemapper implements IRemapper {
+	private static final Logger LOGGER = LogManager.getLogger("ArchitecturyRemapperInjector");
+
+	private final CompletableFuture<IRemapper> delegate; // completes with null if the tables couldn't be loaded
+	private volatile StringTable mappedClasses; // set before the delegate completes
+	private final StringTable previousMethods;
+	private final StringTable previousFields;
+	private final StringTable previousClasses;
+	private final StringTable previousUnmappedClasses;
+	private final StringTable previousDescs;
+	private final StringTable previousUnmappedDescs;
+	private final LookupTrace.Recorder methods;
+	private final LookupTrace.Recorder fields;
+	private final LookupTrace.Recorder classes;
+	private final LookupTrace.Recorder unmappedClasses;
+	private final LookupTrace.Recorder descs;
+	private final LookupTrace.Recorder unmappedDescs;
+
+	TracedRemapper(LookupTrace trace, CompletableFuture<MixinTables> tables, Function<MixinTables, IRemapper> createRemapper) {
+		this.delegate = tables.handle((t, e) -> {
+			if (e != null) {
+				LOGGER.error("Could not load the mappings for the mixin remapper, mixins will not be remapped.", e instanceof CompletionException ? e.getCause() : e);
+				return null;
+			}
+
+			mappedClasses = t.allPossibleClassNames;
+			return createRemapper.apply(t);
+		});
+		this.previousMethods = trace.getPrevious("method");
+		this.previousFields = trace.getPrevious("field");
+		this.previousClasses = trace.getPrevious("map");
+		this.previousUnmappedClasses = trace.getPrevious("unmap");
+		this.previousDescs = trace.getPrevious("mapDesc");
+		this.previousUnmappedDescs = trace.getPrevious("unmapDesc");
+		this.methods = trace.getRecorder("method");
+		this.fields = trace.getRecorder("field");
+		this.classes = trace.getRecorder("map");
+		this.unmappedClasses = trace.getRecorder("unmap");
+		this.descs = trace.getRecorder("mapDesc");
+		this.unmappedDescs = trace.getRecorder("unmapDesc");
+	}
+
+	private IRemapper getDelegate() {
+		return delegate.join();
+	}
+
+	private static String part(String part) {
+		return part != null ? part : "";
+	}
+
+	private boolean isTraceable(String owner) {
+		return owner == null || mappedClasses.containsKey(owner);
+	}
+
+	@Override
+	public String mapMethodName(String owner, String name, String desc) {
+		boolean loading = !delegate.isDone();
+
+		if (name != null && loading) {
+			String previous = previousMethods.get(part(owner), name, part(desc));
+			if (previous != null) return previous;
+		}
+
+		IRemapper remapper = getDelegate();
+		if (remapper == null) return name;
+		String result = remapper.mapMethodName(owner, name, desc);
+		if (loading && name != null && isTraceable(owner)) methods.record(owner, name, desc, result);
+		return result;
+	}
+
+	@Override
+	public String mapFieldName(String owner, String name, String desc) {
+		boolean loading = !delegate.isDone();
+
+		if (name != null && loading) {
+			String previous = previousFields.get(part(owner), name, part(desc));
+			if (previous != null) return previous;
+		}
+
+		IRemapper remapper = getDelegate();
+		if (remapper == null) return name;
+		String result = remapper.mapFieldName(owner, name, desc);
+		if (loading && name != null && isTraceable(owner)) fields.record(owner, name, desc, result);
+		return result;
+	}
+
+	@Override
+	public String map(String typeName) {
+		return lookup(previousClasses, classes, typeName, IRemapper::map);
+	}
+
+	@Override
+	public String unmap(String typeName) {
+		return lookup(previousUnmappedClasses, unmappedClasses, typeName, IRemapper::unmap);
+	}
+
+	@Override
+	public String mapDesc(String desc) {
+		return lookup(previousDescs, descs, desc, IRemapper::mapDesc);
+	}
+
+	@Override
+	public String unmapDesc(String desc) {
+		return lookup(previousUnmappedDescs, unmappedDescs, desc, IRemapper::unmapDesc);
+	}
+
+	private String lookup(StringTable previous, LookupTrace.Recorder recorder, String key, BiFunction<IRemapper, String, String> lookup) {
+		// Mixin passes null descriptors in some lookups, which aren't traced
+		if (key == null) {
+			IRemapper remapper = getDelegate();
+			return remapper != null ? lookup.apply(remapper, null) : null;
+		}
+
+		boolean loading = !delegate.isDone();
+
+		if (loading) {
+			String result = previous.get(key);
+			if (result != null) return result;
+		}
+
+		IRemapper remapper = getDelegate();
+		if (remapper == null) return key;
+		String result = lookup.apply(remapper, key);
+		if (loading) recorder.record(key, result);
+		return result;
+	}
+}
@@ -0,0 +1,64 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.mixinremapperservice;
+
+import org.spongepowered.asm.mixin.transformer.ClassInfo;
+
+import java.util.List;
+
+/**
+ * The class infos a hierarchy walk visited, starting with the root, to tell whether the walk would still
+ * visit the same classes. Mixin can add interfaces to a {@link ClassInfo} while applying mixins, and class
+ * infos can be replaced, so the walk is only considered unchanged while it would still start at the same
+ * class info and every visited class info still has the same number of interfaces.
+ */
+final class VisitedClasses {
+	private final ClassInfo[] visited;
+	private final int[] interfaceCounts;
+
+	VisitedClasses(List<ClassInfo> visited) {
+		this.visited = visited.toArray(new ClassInfo[0]);
+		this.interfaceCounts = new int[this.visited.length];
+
+		for (int i = 0; i < this.visited.length; i++) {
+			interfaceCounts[i] = this.visited[i].getInterfaces().size();
+		}
+	}
+
+	boolean isCurrent(ClassInfo root) {
+		if (visited[0] != root) return false;
+
+		for (int i = 0; i < visited.length; i++) {
+			if (visited[i].getInterfaces().size() != interfaceCounts[i]) return false;
+		}
+
+		return true;
+	}
+
+	void addTo(List<ClassInfo> list) {
+		for (ClassInfo classInfo : visited) {
+			list.add(classInfo);
+		}
+	}
+}
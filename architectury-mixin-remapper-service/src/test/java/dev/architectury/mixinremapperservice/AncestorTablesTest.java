@@ -0,0 +1,135 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.mixinremapperservice;
+
+import dev.architectury.mappingstore.MappingIndex;
+import dev.architectury.mappingstore.MappingStore;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The ancestor tables may only answer hierarchy lookups while the class infos have the supertypes of the game jar.
+ * {@code Child} gains the game interface {@code Itf} from a mixin at runtime, and {@code Moved} extends another
+ * class than in the jar. The member names {@code m_1_}, {@code m_2_} and {@code f_1_} are declared by several
+ * classes with different mapped names, so they're resolved by walking the hierarchy.
+ */
+class AncestorTablesTest {
+	private static final String PACKAGE = "net/minecraft/ancestors/";
+	private static final String MAPPINGS = "tiny\t2\t0\tsrg\tnamed\n"
+			+ "c\tnet/minecraft/C_1_\t" + PACKAGE + "Base\n"
+			+ "\tm\t()V\tm_1_\tbaseMethod\n"
+			+ "\tf\tI\tf_1_\tbaseField\n"
+			+ "c\tnet/minecraft/C_2_\t" + PACKAGE + "Child\n"
+			+ "c\tnet/minecraft/C_3_\t" + PACKAGE + "Plain\n"
+			+ "c\tnet/minecraft/C_4_\t" + PACKAGE + "Itf\n"
+			+ "\tm\t()V\tm_2_\titfMethod\n"
+			+ "c\tnet/minecraft/C_5_\t" + PACKAGE + "Other\n"
+			+ "\tm\t()V\tm_1_\totherMethod\n"
+			+ "\tm\t()V\tm_2_\totherItfMethod\n"
+			+ "\tf\tI\tf_1_\totherField\n"
+			+ "c\tnet/minecraft/C_6_\t" + PACKAGE + "Moved\n";
+
+	@TempDir
+	Path dir;
+	private MappingStore mappings;
+	private AncestorTables ancestors;
+
+	@BeforeAll
+	static void registerClasses() {
+		TestClasses.register(PACKAGE + "Base", "java/lang/Object");
+		TestClasses.registerInterface(PACKAGE + "Itf");
+		TestClasses.register(PACKAGE + "Other", "java/lang/Object");
+		TestClasses.register(PACKAGE + "Plain", PACKAGE + "Base");
+		// a mixin added Itf to Child
+		TestClasses.register(PACKAGE + "Child", PACKAGE + "Base", PACKAGE + "Itf");
+		TestClasses.register(PACKAGE + "Moved", PACKAGE + "Other");
+	}
+
+	@BeforeEach
+	void buildTables() throws IOException {
+		System.setProperty(MappingStore.CACHE_DIR_PROPERTY, dir.resolve("cache").toString());
+		Path path = dir.resolve("mappings.tiny");
+		Files.write(path, MAPPINGS.getBytes("UTF-8"));
+		mappings = MappingStore.open(path, "srg", "named");
+
+		// the hierarchy of the game jar
+		Map<String, String> superClasses = new HashMap<>();
+		Map<String, String[]> interfaces = new HashMap<>();
+		superClasses.put(PACKAGE + "Base", "java/lang/Object");
+		superClasses.put(PACKAGE + "Itf", "java/lang/Object");
+		superClasses.put(PACKAGE + "Other", "java/lang/Object");
+		superClasses.put(PACKAGE + "Plain", PACKAGE + "Base");
+		superClasses.put(PACKAGE + "Child", PACKAGE + "Base");
+		superClasses.put(PACKAGE + "Moved", PACKAGE + "Base");
+		ancestors = AncestorTables.build(mappings, superClasses, interfaces);
+	}
+
+	@Test
+	void unchangedClassesUseTheAncestors() {
+		MixinIntermediaryDevRemapper remapper = new MixinIntermediaryDevRemapper(MixinTables.build(mappings).withAncestors(ancestors));
+		assertEquals("baseMethod", remapper.mapMethodName("net/minecraft/C_3_", "m_1_", "()V"));
+		assertEquals("baseField", remapper.mapFieldName("net/minecraft/C_3_", "f_1_", "I"));
+		// resolved from the ancestors without walking the hierarchy
+		assertEquals(0, remapper.getHierarchyCacheMisses());
+	}
+
+	@Test
+	void interfacesAddedByMixinsAreWalked() {
+		MixinIntermediaryDevRemapper remapper = new MixinIntermediaryDevRemapper(MixinTables.build(mappings).withAncestors(ancestors));
+		assertEquals("itfMethod", remapper.mapMethodName("net/minecraft/C_2_", "m_2_", "()V"));
+		assertEquals("baseMethod", remapper.mapMethodName("net/minecraft/C_2_", "m_1_", "()V"));
+		// fields are only looked up in super classes, which the mixin didn't change
+		assertEquals("baseField", remapper.mapFieldName("net/minecraft/C_2_", "f_1_", "I"));
+	}
+
+	@Test
+	void superClassesOtherThanInTheJarAreWalked() {
+		MixinIntermediaryDevRemapper remapper = new MixinIntermediaryDevRemapper(MixinTables.build(mappings).withAncestors(ancestors));
+		assertEquals("otherMethod", remapper.mapMethodName("net/minecraft/C_6_", "m_1_", "()V"));
+		assertEquals("otherField", remapper.mapFieldName("net/minecraft/C_6_", "f_1_", "I"));
+	}
+
+	@Test
+	void indexedTablesCompareSupertypes() throws IOException {
+		Path indexPath = dir.resolve("index.bin");
+		MappingIndex.Writer writer = new MappingIndex.Writer(dir.resolve("mappings.tiny"), "srg", "named");
+		MixinTables.build(mappings).withAncestors(ancestors).write(writer);
+		writer.write(indexPath);
+
+		MixinIntermediaryDevRemapper remapper = new MixinIntermediaryDevRemapper(MixinTables.read(MappingIndex.load(indexPath, "srg", "named")));
+		assertEquals("itfMethod", remapper.mapMethodName("net/minecraft/C_2_", "m_2_", "()V"));
+		assertEquals("otherMethod", remapper.mapMethodName("net/minecraft/C_6_", "m_1_", "()V"));
+		assertEquals("baseMethod", remapper.mapMethodName("net/minecraft/C_3_", "m_1_", "()V"));
+	}
+}
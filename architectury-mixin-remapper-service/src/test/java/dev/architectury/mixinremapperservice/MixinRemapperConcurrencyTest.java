@@ -0,0 +1,203 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.mixinremapperservice;
+
+import dev.architectury.mappingstore.MappingStore;
+import dev.architectury.mappingstore.SyntheticMappings;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Lookups from many threads at once have to return the same results as on a single thread.
+ *
+ * <p>The test task makes the remapper caches tiny, so entries are evicted all the time, and the hierarchy
+ * cache is invalidated concurrently. Any difference is a race or a lost mapping.
+ */
+class MixinRemapperConcurrencyTest {
+	private static final int CLASSES = 2000;
+	private static final int LOOKUPS = 4096;
+	private static final int ROUNDS = 5;
+	private static final int REPORTED_MISMATCHES = 10;
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void concurrentLookupsEqualSingleThreadedOnes() throws Exception {
+		System.setProperty(MappingStore.CACHE_DIR_PROPERTY, dir.resolve("cache").toString());
+		Path path = dir.resolve("mappings.tiny");
+		SyntheticMappings.write(path, CLASSES);
+		TestClasses.registerSynthetic(CLASSES);
+
+		List<Lookup> lookups = createLookups();
+		MixinIntermediaryDevRemapper reference = new MixinIntermediaryDevRemapper(MixinTables.build(MappingStore.open(path, "srg", "named")));
+		String[] expected = new String[lookups.size()];
+		int mapped = 0;
+
+		for (int i = 0; i < expected.length; i++) {
+			expected[i] = lookups.get(i).resolve(reference);
+			if (!expected[i].equals(lookups.get(i).name)) mapped++;
+		}
+
+		assertTrue(mapped > 0, "no lookup resolved to a mapping");
+
+		MixinIntermediaryDevRemapper remapper = new MixinIntermediaryDevRemapper(MixinTables.build(MappingStore.open(path, "srg", "named")));
+		int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+		CyclicBarrier start = new CyclicBarrier(threads + 1); // the workers and the invalidator
+		AtomicBoolean done = new AtomicBoolean();
+		List<String> mismatches = Collections.synchronizedList(new ArrayList<>());
+		ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+
+		try {
+			List<Future<?>> workers = new ArrayList<>();
+
+			for (int t = 0; t < threads; t++) {
+				int thread = t;
+				workers.add(executor.submit(() -> {
+					start.await();
+
+					for (int round = 0; round < ROUNDS; round++) {
+						// every thread walks the lookups in its own order
+						for (int n = 0; n < lookups.size(); n++) {
+							int i = (n * (2 * thread + 1) + round * 31 + thread) % lookups.size();
+							String result = lookups.get(i).resolve(remapper);
+
+							if (!expected[i].equals(result) && mismatches.size() < REPORTED_MISMATCHES) {
+								mismatches.add(lookups.get(i) + ": expected " + expected[i] + ", got " + result);
+							}
+						}
+					}
+
+					return null;
+				}));
+			}
+
+			Future<?> invalidator = executor.submit(() -> {
+				start.await();
+
+				while (!done.get()) {
+					remapper.invalidateHierarchyCache();
+					LockSupport.parkNanos(100_000);
+				}
+
+				return null;
+			});
+
+			try {
+				for (Future<?> worker : workers) {
+					worker.get();
+				}
+			} finally {
+				done.set(true);
+			}
+
+			invalidator.get();
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertEquals(Collections.emptyList(), mismatches);
+	}
+
+	private static List<Lookup> createLookups() {
+		List<Lookup> lookups = new ArrayList<>();
+
+		for (int n = 0; n < LOOKUPS; n++) {
+			int cls = (int) ((long) n * CLASSES / LOOKUPS);
+			String owner = SyntheticMappings.getSrgClass(cls);
+			String method = SyntheticMappings.getSrgMethod(cls, n % SyntheticMappings.METHODS_PER_CLASS);
+			String desc = SyntheticMappings.getSrgMethodDesc(cls, CLASSES);
+			String field = SyntheticMappings.getSrgField(cls, n % SyntheticMappings.FIELDS_PER_CLASS);
+			String modOwner = TestClasses.getModClass(n % TestClasses.MOD_CLASSES);
+
+			// a method declared by a class of the mod class' super class chain
+			int declaring = TestClasses.getChainEnd(n % TestClasses.MOD_CLASSES, CLASSES) - n % SyntheticMappings.CHAIN_LENGTH;
+			String inherited = SyntheticMappings.getSrgMethod(declaring, n % SyntheticMappings.METHODS_PER_CLASS);
+			String inheritedDesc = SyntheticMappings.getSrgMethodDesc(declaring, CLASSES);
+
+			switch (n % 6) {
+				case 0:
+					lookups.add(new Lookup("method", owner, method, desc, (r, l) -> r.mapMethodName(l.owner, l.name, l.desc)));
+					break;
+				case 1:
+					lookups.add(new Lookup("inherited method", modOwner, inherited, inheritedDesc, (r, l) -> r.mapMethodName(l.owner, l.name, l.desc)));
+					break;
+				case 2:
+					lookups.add(new Lookup("field", owner, field, "I", (r, l) -> r.mapFieldName(l.owner, l.name, l.desc)));
+					break;
+				case 3:
+					lookups.add(new Lookup("desc", null, desc, null, (r, l) -> r.mapDesc(l.name)));
+					break;
+				case 4:
+					lookups.add(new Lookup("class", null, owner, null, (r, l) -> r.unmap(r.map(l.name))));
+					break;
+				default:
+					lookups.add(new Lookup("missing method", modOwner, "modMethod" + n, desc, (r, l) -> r.mapMethodName(l.owner, l.name, l.desc)));
+					break;
+			}
+		}
+
+		return lookups;
+	}
+
+	private static final class Lookup {
+		final String kind;
+		final String owner;
+		final String name;
+		final String desc;
+		final BiFunction<MixinIntermediaryDevRemapper, Lookup, String> resolver;
+
+		Lookup(String kind, String owner, String name, String desc, BiFunction<MixinIntermediaryDevRemapper, Lookup, String> resolver) {
+			this.kind = kind;
+			this.owner = owner;
+			this.name = name;
+			this.desc = desc;
+			this.resolver = resolver;
+		}
+
+		String resolve(MixinIntermediaryDevRemapper remapper) {
+			return resolver.apply(remapper, this);
+		}
+
+		@Override
+		public String toString() {
+			return kind + " " + (owner != null ? owner + "." : "") + name + (desc != null ? " " + desc : "");
+		}
+	}
+}
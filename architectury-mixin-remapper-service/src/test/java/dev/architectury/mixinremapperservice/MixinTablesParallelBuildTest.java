@@ -0,0 +1,63 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.mixinremapperservice;
+
+import dev.architectury.mappingstore.MappingStore;
+import dev.architectury.mappingstore.RandomMappings;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Building the tables in parallel has to give the same tables as building them sequentially, including the
+ * ambiguous markers of names that the partitions map differently. {@link RandomMappings} share member names
+ * between classes, and the tiny partitions put most of them in different partitions.
+ */
+class MixinTablesParallelBuildTest {
+	private static final int CLASSES = 2000;
+	private static final int PARTITION_SIZE = 4;
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void parallelBuildEqualsSequentialBuild() throws IOException {
+		assumeTrue(ForkJoinPool.getCommonPoolParallelism() > 1, "the tables are only built in parallel with several cores");
+		System.setProperty(MappingStore.CACHE_DIR_PROPERTY, dir.resolve("cache").toString());
+		Path path = dir.resolve("mappings.tiny");
+		new RandomMappings(1, CLASSES).write(path);
+		MappingStore mappings = MappingStore.open(path, "srg", "named");
+
+		MixinTables sequential = MixinTables.build(mappings, Integer.MAX_VALUE);
+		List<String> different = MixinTables.build(mappings, PARTITION_SIZE).getDifferentTables(sequential);
+		assertTrue(different.isEmpty(), "parallel build differs in " + different);
+	}
+}
@@ -0,0 +1,87 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.mixinremapperservice;
+
+import dev.architectury.mappingstore.MappingStore;
+import dev.architectury.mappingstore.RandomMappings;
+import net.fabricmc.mappingio.MappingReader;
+import net.fabricmc.mappingio.tree.MemoryMappingTree;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The deprecated constructors of the remappers taking a mapping tree have to build the same tables as the services,
+ * which read the mapping file into a store.
+ */
+class MixinTablesTreeTest {
+	private static final int CLASSES = 500;
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void treeTablesEqualStoreTables() throws IOException {
+		System.setProperty(MappingStore.CACHE_DIR_PROPERTY, dir.resolve("cache").toString());
+		Path path = dir.resolve("mappings.tiny");
+		RandomMappings mappings = new RandomMappings(1, CLASSES);
+
+		// a tree merges members with the same name and descriptor, which the generated mappings may repeat
+		for (RandomMappings.ClassEntry cls : mappings.getClasses()) {
+			removeDuplicates(cls.methods);
+			removeDuplicates(cls.fields);
+		}
+
+		mappings.write(path);
+		MemoryMappingTree tree = new MemoryMappingTree();
+		MappingReader.read(path, tree);
+
+		MixinTables fromStore = MixinTables.build(MappingStore.open(path, "srg", "named"));
+		List<String> different = MixinTables.build(tree, "srg", "named").getDifferentTables(fromStore);
+		assertTrue(different.isEmpty(), "tables built from the tree differ in " + different);
+	}
+
+	@Test
+	void missingNamespacesAreRejected() throws IOException {
+		Path path = dir.resolve("mappings.tiny");
+		new RandomMappings(1, 1).write(path);
+		MemoryMappingTree tree = new MemoryMappingTree();
+		MappingReader.read(path, tree);
+
+		assertThrows(IllegalArgumentException.class, () -> new MixinIntermediaryDevRemapper(tree, "srg", "intermediary"));
+	}
+
+	private static void removeDuplicates(List<RandomMappings.MemberEntry> members) {
+		Set<String> keys = new HashSet<>();
+		members.removeIf(member -> !keys.add(member.src + member.desc));
+	}
+}
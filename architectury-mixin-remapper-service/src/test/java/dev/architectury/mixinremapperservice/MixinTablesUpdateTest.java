@@ -0,0 +1,91 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.mixinremapperservice;
+
+import dev.architectury.mappingstore.MappingDiff;
+import dev.architectury.mappingstore.MappingStore;
+import dev.architectury.mappingstore.RandomMappings;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Updating the tables incrementally, like when watching the mappings, has to give the same tables as building them
+ * from scratch. Edits {@link RandomMappings} step by step and updates the tables after every step, always from the
+ * previous update like the watcher does.
+ */
+class MixinTablesUpdateTest {
+	private static final int CLASSES = 200;
+	private static final int STEPS = 500;
+	private static final int MAX_EDITS_PER_STEP = 3;
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void updatedTablesEqualFreshBuilds() throws IOException {
+		System.setProperty(MappingStore.CACHE_DIR_PROPERTY, dir.resolve("cache").toString());
+		RandomMappings mappings = new RandomMappings(1, CLASSES);
+		MappingStore previous = open(mappings, 0);
+		MixinTables tables = MixinTables.build(previous);
+		int incremental = 0;
+
+		for (int step = 1; step <= STEPS; step++) {
+			List<String> edits = new ArrayList<>();
+
+			for (int i = mappings.getClasses().isEmpty() ? 1 : 1 + step % MAX_EDITS_PER_STEP; i > 0; i--) {
+				edits.add(mappings.edit());
+			}
+
+			MappingStore next = open(mappings, step);
+			MappingDiff diff = MappingDiff.of(previous, next);
+			if (!diff.isFull()) incremental++;
+
+			tables = tables.update(previous, next, diff);
+			List<String> different = tables.getDifferentTables(MixinTables.build(next));
+
+			if (!different.isEmpty()) {
+				fail("Step " + step + " (" + String.join(", ", edits) + ", " + diff + ") updated tables differently: " + different);
+			}
+
+			previous = next;
+		}
+
+		assertTrue(incremental > 0, "no step was updated incrementally");
+	}
+
+	// a new file for every step, so the store never depends on the resolution of modification times
+	private MappingStore open(RandomMappings mappings, int step) throws IOException {
+		Path path = dir.resolve("mappings-" + step + ".tiny");
+		mappings.write(path);
+		return MappingStore.open(path, "srg", "named");
+	}
+}
@@ -0,0 +1,82 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.mixinremapperservice;
+
+import dev.architectury.mappingstore.SyntheticMappings;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.ClassNode;
+import org.spongepowered.asm.mixin.transformer.ClassInfo;
+
+/**
+ * Registers the class infos the remapper walks, as there's no mixin service to load classes in the tests.
+ *
+ * <p>Mixin caches class infos globally and for good, so every test registers classes with names of its own,
+ * except for the {@link SyntheticMappings} classes, which are the same for every test.
+ */
+final class TestClasses {
+	static final int MOD_CLASSES = 64;
+
+	private TestClasses() {
+	}
+
+	/**
+	 * Registers the named classes of {@link SyntheticMappings} of the given size, and {@value #MOD_CLASSES}
+	 * unmapped mod classes extending the ends of their inheritance chains.
+	 */
+	static void registerSynthetic(int classes) {
+		for (int cls = 0; cls < classes; cls++) {
+			int superClass = SyntheticMappings.getSuperClass(cls);
+			register(SyntheticMappings.getNamedClass(cls), superClass < 0 ? "java/lang/Object" : SyntheticMappings.getNamedClass(superClass));
+		}
+
+		for (int i = 0; i < MOD_CLASSES; i++) {
+			register(getModClass(i), SyntheticMappings.getNamedClass(getChainEnd(i, classes)));
+		}
+	}
+
+	static String getModClass(int i) {
+		return "com/example/mod/ModClass" + i;
+	}
+
+	/**
+	 * @return the synthetic class the mod class {@code i} extends
+	 */
+	static int getChainEnd(int i, int classes) {
+		return Math.min((i + 1) * SyntheticMappings.CHAIN_LENGTH, classes) - 1;
+	}
+
+	static ClassInfo register(String name, String superName, String... interfaces) {
+		return register(Opcodes.ACC_PUBLIC, name, superName, interfaces);
+	}
+
+	static ClassInfo registerInterface(String name, String... interfaces) {
+		return register(Opcodes.ACC_PUBLIC | Opcodes.ACC_INTERFACE | Opcodes.ACC_ABSTRACT, name, "java/lang/Object", interfaces);
+	}
+
+	private static ClassInfo register(int access, String name, String superName, String[] interfaces) {
+		ClassNode node = new ClassNode();
+		node.visit(Opcodes.V1_8, access, name, null, superName, interfaces);
+		return ClassInfo.fromClassNode(node);
+	}
+}
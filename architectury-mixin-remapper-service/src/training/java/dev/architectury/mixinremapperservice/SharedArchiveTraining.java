@@ -0,0 +1,75 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.mixinremapperservice;
+
+import dev.architectury.mappingstore.MappingStore;
+import dev.architectury.mappingstore.SharedArchive;
+import dev.architectury.mappingstore.Training;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * The training workload the class list of the service is recorded from, see {@link SharedArchive}.
+ *
+ * <p>The remapper is used directly instead of through Mixin's environment, which needs a launcher.
+ * Every member is looked up on its declaring class, so lookups never walk the hierarchy through Mixin.
+ */
+final class SharedArchiveTraining {
+	private SharedArchiveTraining() {
+	}
+
+	public static void main(String[] args) throws IOException {
+		Training.run(args, SharedArchiveTraining::train);
+	}
+
+	private static void train(Path mappingsPath, String sourceNamespace) throws IOException {
+		MappingStore mappings = MappingStore.open(mappingsPath, sourceNamespace, "named");
+		MixinIntermediaryDevRemapper remapper = new MixinIntermediaryDevRemapper(MixinTables.build(mappings));
+		String[] owners = new String[mappings.getMethodCount()];
+		String[] names = new String[mappings.getMethodCount()];
+		String[] descs = new String[mappings.getMethodCount()];
+
+		for (int cls = 0; cls < mappings.getClassCount(); cls++) {
+			String owner = mappings.getClassSrcName(cls);
+			remapper.unmap(remapper.map(owner));
+
+			for (int method = mappings.getMethodStart(cls); method < mappings.getMethodEnd(cls); method++) {
+				owners[method] = owner;
+				names[method] = mappings.getMethodSrcName(method);
+				descs[method] = mappings.getMethodSrcDesc(method);
+				remapper.mapMethodName(owner, names[method], descs[method]);
+				remapper.mapMethodName(owner, names[method], null);
+				remapper.unmapDesc(remapper.mapDesc(descs[method]));
+			}
+
+			for (int field = mappings.getFieldStart(cls); field < mappings.getFieldEnd(cls); field++) {
+				remapper.mapFieldName(owner, mappings.getFieldSrcName(field), mappings.getFieldSrcDesc(field));
+			}
+		}
+
+		remapper.mapMethodNames(owners, names, descs);
+		remapper.mapDescs(descs);
+	}
+}
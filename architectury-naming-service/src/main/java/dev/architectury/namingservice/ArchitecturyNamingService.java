@@ -24,34 +24,96 @@
 package dev.architectury.namingservice;
 
 import cpw.mods.modlauncher.api.INameMappingService;
-import net.fabricmc.mappingio.MappingReader;
-import net.fabricmc.mappingio.tree.MappingTreeView;
-import net.fabricmc.mappingio.tree.MemoryMappingTree;
+import dev.architectury.mappingstore.LookupTrace;
+import dev.architectury.mappingstore.MappingDiff;
+import dev.architectury.mappingstore.MappingIndex;
+import dev.architectury.mappingstore.MappingStore;
+import dev.architectury.mappingstore.MappingWatcher;
+import dev.architectury.mappingstore.NameFilter;
+import dev.architectury.mappingstore.ParallelBuild;
+import dev.architectury.mappingstore.Profiler;
+import dev.architectury.mappingstore.StringTable;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
-import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.UncheckedIOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.AbstractMap;
-import java.util.Collection;
-import java.util.HashMap;
+import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 import java.util.function.BiFunction;
-import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public class ArchitecturyNamingService implements INameMappingService {
+	private static final Logger LOGGER = LogManager.getLogger("ArchitecturyNamingService");
 	// Namespaces in mapping file
 	private static final String TARGET_NAMESPACE = "named";
 
 	private static final String MAPPINGS_PATH_PROPERTY = "architectury.naming.mappingsPath";
 	private static final String SOURCE_NAMESPACE_PROPERTY = "architectury.naming.sourceNamespace";
+	// A prebuilt index used instead of the mappings, see MappingIndexTool
+	private static final String INDEX_PATH_PROPERTY = "architectury.naming.indexPath";
 
-	private String sourceNamespace;
-	private Map<String, String> classNameMappings = null;
-	private Map<String, String> methodNameMappings = null;
-	private Map<String, String> fieldNameMappings = null;
+	private static final Profiler.LookupStats CLASS_LOOKUPS = Profiler.lookups("naming.class");
+	private static final Profiler.LookupStats METHOD_LOOKUPS = Profiler.lookups("naming.method");
+	private static final Profiler.LookupStats FIELD_LOOKUPS = Profiler.lookups("naming.field");
+	// larger batches are remapped in parallel, in partitions of this size
+	private static final int BATCH_PARTITION_SIZE = 8192;
+
+	private static final Executor LOADER = Executors.newCachedThreadPool(task -> {
+		Thread thread = new Thread(task, "Architectury Naming Service Loader");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	// Each table is built independently on the loader, so the first lookup
+	// in a domain only waits for that domain's table. The tables are immutable
+	// and only reached through the futures, which publish them safely to every
+	// thread, so lookups from concurrent transformers never lock. When watching
+	// the mappings, updated tables are swapped in by replacing the futures.
+	private volatile CompletableFuture<FilteredTable> classNameMappings;
+	private volatile CompletableFuture<FilteredTable> methodNameMappings;
+	private volatile CompletableFuture<FilteredTable> fieldNameMappings;
+	// With tracing, lookups from the previous launch are answered from its trace until
+	// the tables are built, and the lookups of this launch are recorded. Null otherwise.
+	private final CompletableFuture<Trace> trace;
+
+	public ArchitecturyNamingService() {
+		// Start loading as soon as ModLauncher creates the service instead of on the first lookup
+		if (System.getProperty(INDEX_PATH_PROPERTY) == null && LookupTrace.isEnabled()) {
+			trace = CompletableFuture.supplyAsync(ArchitecturyNamingService::openTrace, LOADER);
+		} else {
+			trace = null;
+		}
+
+		CompletableFuture<MappingStore> mappings;
+
+		if (System.getProperty(INDEX_PATH_PROPERTY) != null) {
+			CompletableFuture<MappingIndex> index = CompletableFuture.supplyAsync(ArchitecturyNamingService::openIndex, LOADER);
+			// the mappings are only read if the index is outdated
+			mappings = index.thenApplyAsync(i -> i != null ? null : openMappings(), LOADER);
+			classNameMappings = index.thenCombineAsync(mappings, (i, m) -> new FilteredTable(i != null ? i.getTable(NamingTables.CLASS_TABLE) : NamingTables.buildClassTable(m)), LOADER);
+			methodNameMappings = index.thenCombineAsync(mappings, (i, m) -> new FilteredTable(i != null ? i.getTable(NamingTables.METHOD_TABLE) : NamingTables.buildMethodTable(m)), LOADER);
+			fieldNameMappings = index.thenCombineAsync(mappings, (i, m) -> new FilteredTable(i != null ? i.getTable(NamingTables.FIELD_TABLE) : NamingTables.buildFieldTable(m)), LOADER);
+		} else {
+			mappings = CompletableFuture.supplyAsync(ArchitecturyNamingService::openMappings, LOADER);
+			classNameMappings = mappings.thenApplyAsync(m -> new FilteredTable(NamingTables.buildClassTable(m)), LOADER);
+			methodNameMappings = mappings.thenApplyAsync(m -> new FilteredTable(NamingTables.buildMethodTable(m)), LOADER);
+			fieldNameMappings = mappings.thenApplyAsync(m -> new FilteredTable(NamingTables.buildFieldTable(m)), LOADER);
+		}
+
+		if (MappingWatcher.isEnabled()) {
+			mappings.thenAcceptAsync(m -> {
+				if (m != null) watch(m);
+			}, LOADER);
+		}
+	}
 
 	@Override
 	public String mappingName() {
@@ -73,29 +135,147 @@ public class ArchitecturyNamingService implements INameMappingService {
 		return this::remap;
 	}
 
-	private void generateMappings() {
-		if (classNameMappings != null) {
-			return;
+	/**
+	 * Remaps a batch of names of one domain in one pass. Unlike calling the {@link #namingFunction()}
+	 * for each name, the table is only resolved once and large batches are remapped in parallel.
+	 *
+	 * @return the remapped names, in the order of {@code names}
+	 */
+	public String[] remapAll(Domain domain, String[] names) {
+		long start = Profiler.start();
+		FilteredTable table = getTable(domain);
+		String[] result = new String[names.length];
+
+		ParallelBuild.run(names.length, BATCH_PARTITION_SIZE, (from, to) -> {
+			for (int i = from; i < to; i++) {
+				result[i] = table != null ? table.remap(names[i]) : names[i];
+			}
+		});
+
+		Profiler.phase("naming.remapBatch", start);
+		return result;
+	}
+
+	/**
+	 * Remaps a batch of names of mixed domains in one pass, where {@code domains[i]} is the domain of {@code names[i]}.
+	 *
+	 * @return the remapped names, in the order of {@code names}
+	 */
+	public String[] remapAll(Domain[] domains, String[] names) {
+		if (domains.length != names.length) {
+			throw new IllegalArgumentException("Got " + domains.length + " domains for " + names.length + " names");
 		}
 
-		sourceNamespace = getRequiredProperty(SOURCE_NAMESPACE_PROPERTY);
+		long start = Profiler.start();
+		FilteredTable[] tables = getTables();
+		String[] result = new String[names.length];
+
+		ParallelBuild.run(names.length, BATCH_PARTITION_SIZE, (from, to) -> {
+			for (int i = from; i < to; i++) {
+				result[i] = remap(tables, domains[i], names[i]);
+			}
+		});
+
+		Profiler.phase("naming.remapBatch", start);
+		return result;
+	}
+
+	/**
+	 * Remaps a stream of (domain, name) entries, which is processed in parallel if the entry stream is.
+	 * The tables are resolved when the stream is created, so all entries are remapped with the same mappings.
+	 */
+	public Stream<String> remapAll(Stream<? extends Map.Entry<Domain, String>> entries) {
+		FilteredTable[] tables = getTables();
+		return entries.map(entry -> remap(tables, entry.getKey(), entry.getValue()));
+	}
+
+	private FilteredTable getTable(Domain domain) {
+		switch (domain) {
+			case CLASS:
+				return await(classNameMappings);
+			case METHOD:
+				return await(methodNameMappings);
+			case FIELD:
+				return await(fieldNameMappings);
+			default:
+				return null;
+		}
+	}
+
+	// the table of every domain, indexed by its ordinal
+	private FilteredTable[] getTables() {
+		Domain[] domains = Domain.values();
+		FilteredTable[] tables = new FilteredTable[domains.length];
+
+		for (Domain domain : domains) {
+			tables[domain.ordinal()] = getTable(domain);
+		}
+
+		return tables;
+	}
+
+	private static String remap(FilteredTable[] tables, Domain domain, String name) {
+		FilteredTable table = tables[domain.ordinal()];
+		return table != null ? table.remap(name) : name;
+	}
+
+	private static MappingStore openMappings() {
+		String sourceNamespace = getRequiredProperty(SOURCE_NAMESPACE_PROPERTY);
 		Path path = Paths.get(getRequiredProperty(MAPPINGS_PATH_PROPERTY));
 
-		MemoryMappingTree mappings = new MemoryMappingTree();
-		try (BufferedReader reader = Files.newBufferedReader(path)) {
-			MappingReader.read(reader, mappings);
+		try {
+			return MappingStore.open(path, sourceNamespace, TARGET_NAMESPACE);
 		} catch (IOException e) {
 			throw new UncheckedIOException(e);
 		}
+	}
 
-		classNameMappings = new HashMap<>();
-		fieldNameMappings = new HashMap<>();
-		methodNameMappings = new HashMap<>();
-		// The cast is to work around https://github.com/FabricMC/mapping-io/issues/14
-		buildNameMap(((MappingTreeView) mappings).getClasses(), classNameMappings, clz -> {
-			buildNameMap(clz.getMethods(), methodNameMappings, null);
-			buildNameMap(clz.getFields(), fieldNameMappings, null);
-		});
+	private static Trace openTrace() {
+		try {
+			return new Trace(LookupTrace.open(Paths.get(getRequiredProperty(MAPPINGS_PATH_PROPERTY)), "naming",
+					getRequiredProperty(SOURCE_NAMESPACE_PROPERTY), TARGET_NAMESPACE));
+		} catch (IOException e) {
+			LOGGER.error("Could not trace the lookups of the naming service.", e);
+			return null;
+		}
+	}
+
+	private void watch(MappingStore mappings) {
+		try {
+			MappingWatcher.start("Architectury Naming Service Watcher", Paths.get(getRequiredProperty(MAPPINGS_PATH_PROPERTY)), mappings, this::reload);
+		} catch (IOException e) {
+			LOGGER.error("Could not watch the mappings for changes.", e);
+		}
+	}
+
+	// only called on the watcher thread, after the tables of the previous mappings have been built
+	private void reload(MappingStore previous, MappingStore next, MappingDiff diff) {
+		FilteredTable classes = new FilteredTable(NamingTables.updateClassTable(await(classNameMappings).table, previous, next, diff));
+		FilteredTable methods = new FilteredTable(NamingTables.updateMethodTable(await(methodNameMappings).table, previous, next, diff));
+		FilteredTable fields = new FilteredTable(NamingTables.updateFieldTable(await(fieldNameMappings).table, previous, next, diff));
+		classNameMappings = CompletableFuture.completedFuture(classes);
+		methodNameMappings = CompletableFuture.completedFuture(methods);
+		fieldNameMappings = CompletableFuture.completedFuture(fields);
+	}
+
+	// the index, or null if it wasn't generated from the configured mappings
+	private static MappingIndex openIndex() {
+		Path path = Paths.get(System.getProperty(INDEX_PATH_PROPERTY));
+		String mappingsPath = System.getProperty(MAPPINGS_PATH_PROPERTY);
+
+		try {
+			MappingIndex index = MappingIndex.load(path, System.getProperty(SOURCE_NAMESPACE_PROPERTY), TARGET_NAMESPACE);
+
+			// without the mappings, the index can't be checked and is used as is
+			if (mappingsPath != null && !index.isGeneratedFrom(Paths.get(mappingsPath))) {
+				LOGGER.warn("Ignoring the mapping index {}, it was generated from other mappings than {}.", path, mappingsPath);
+				return null;
+			}
+
+			return index;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
 	}
 
 	private static String getRequiredProperty(String property) {
@@ -104,35 +284,93 @@ public class ArchitecturyNamingService implements INameMappingService {
 		return value;
 	}
 
-	private <M extends MappingTreeView.ElementMappingView> void buildNameMap(Collection<M> entries, Map<String, String> target, Consumer<M> entryConsumer) {
-		for (M entry : entries) {
-			target.put(entry.getName(sourceNamespace), entry.getName(TARGET_NAMESPACE));
-			if (entryConsumer != null) {
-				entryConsumer.accept(entry);
-			}
+	private static <T> T await(CompletableFuture<T> future) {
+		try {
+			return future.join();
+		} catch (CompletionException e) {
+			// rethrow the original failure, eg. a missing system property
+			if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+			if (e.getCause() instanceof Error) throw (Error) e.getCause();
+			throw e;
 		}
 	}
 
 	private String remap(Domain domain, String name) {
-		// ensure the mapping tables are built
-		generateMappings();
-
 		switch (domain) {
 			case CLASS:
-				boolean dot = name.contains(".");
-				String searchName = maybeReplace(dot, name, '.', '/');
-				String target = classNameMappings.get(searchName);
-				return target != null ? maybeReplace(dot, target, '/', '.') : name;
+				return lookup(classNameMappings, domain, name, CLASS_LOOKUPS);
 			case METHOD:
-				return methodNameMappings.getOrDefault(name, name);
+				return lookup(methodNameMappings, domain, name, METHOD_LOOKUPS);
 			case FIELD:
-				return fieldNameMappings.getOrDefault(name, name);
+				return lookup(fieldNameMappings, domain, name, FIELD_LOOKUPS);
 			default:
 				return name;
 		}
 	}
 
-	private static String maybeReplace(boolean run, String s, char from, char to) {
-		return run ? s.replace(from, to) : s;
+	private String lookup(CompletableFuture<FilteredTable> future, Domain domain, String name, Profiler.LookupStats stats) {
+		if (trace == null) {
+			return lookup(future, name, stats);
+		}
+
+		Trace trace = await(this.trace);
+		// once the table is built, lookups are neither answered from the trace nor recorded
+		if (trace == null || future.isDone()) return lookup(future, name, stats);
+
+		long start = Profiler.start();
+		String previous = trace.previous[domain.ordinal()].get(name);
+
+		if (previous != null) {
+			// kept in the trace without recording it again
+			stats.record(!previous.equals(name), start);
+			return previous;
+		}
+
+		String result = lookup(future, name, stats);
+		trace.recorders[domain.ordinal()].record(name, result);
+		return result;
+	}
+
+	private static String lookup(CompletableFuture<FilteredTable> future, String name, Profiler.LookupStats stats) {
+		long start = Profiler.start();
+		FilteredTable table = await(future);
+
+		// most mod and JDK names are rejected without probing the table
+		if (!table.filter.mightContain(name)) {
+			stats.recordRejected(start);
+			return name;
+		}
+
+		String mapped = table.table.get(name);
+		stats.record(mapped != null, start);
+		return mapped != null ? mapped : name;
+	}
+
+	private static final class FilteredTable {
+		final StringTable table;
+		final NameFilter filter;
+
+		FilteredTable(StringTable table) {
+			this.table = table;
+			this.filter = NameFilter.of(table);
+		}
+
+		String remap(String name) {
+			return filter.mightContain(name) ? table.getOrDefault(name, name) : name;
+		}
+	}
+
+	private static final class Trace {
+		// indexed by the ordinal of the domain
+		final StringTable[] previous = new StringTable[Domain.values().length];
+		final LookupTrace.Recorder[] recorders = new LookupTrace.Recorder[Domain.values().length];
+
+		Trace(LookupTrace trace) {
+			for (Domain domain : Domain.values()) {
+				String name = domain.name().toLowerCase(Locale.ROOT);
+				previous[domain.ordinal()] = trace.getPrevious(name);
+				recorders[domain.ordinal()] = trace.getRecorder(name);
+			}
+		}
 	}
 }
@@ -0,0 +1,164 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.namingservice;
+
+import dev.architectury.mappingstore.MappingDiff;
+import dev.architectury.mappingstore.MappingIndex;
+import dev.architectury.mappingstore.MappingStore;
+import dev.architectury.mappingstore.ParallelBuild;
+import dev.architectury.mappingstore.Profiler;
+import dev.architectury.mappingstore.StringTable;
+
+/**
+ * Builds the lookup tables of the {@link ArchitecturyNamingService}, either at runtime
+ * or ahead of time into a {@link MappingIndex}.
+ */
+public final class NamingTables {
+	public static final String CLASS_TABLE = "naming.class";
+	public static final String METHOD_TABLE = "naming.method";
+	public static final String FIELD_TABLE = "naming.field";
+
+	private static final int PARTITION_SIZE = 8192;
+
+	private NamingTables() {
+	}
+
+	/**
+	 * Adds all tables to an index.
+	 */
+	public static void write(MappingStore mappings, MappingIndex.Writer index) {
+		// nearly every lookup probes the class table, and the index can afford building a perfect hash for it
+		index.put(CLASS_TABLE, new StringTable.Builder(buildClassTable(mappings)).buildPerfect());
+		index.put(METHOD_TABLE, buildMethodTable(mappings));
+		index.put(FIELD_TABLE, buildFieldTable(mappings));
+	}
+
+	/**
+	 * Builds the class table keyed by both the internal and the binary (dotted) form of each name,
+	 * with the mapped name precomputed in the same form, so lookups don't have to convert between them.
+	 */
+	public static StringTable buildClassTable(MappingStore mappings) {
+		long startTime = Profiler.start();
+		StringTable table = ParallelBuild.build(mappings.getClassCount(), PARTITION_SIZE,
+				(start, end) -> putClasses(mappings, start, end, null), NamingTables::mergeNameMaps).build();
+		Profiler.phase("naming.buildClassTable", startTime);
+		return table;
+	}
+
+	/**
+	 * Updates a class table built from the previous mappings to the next ones, only replacing the changed names.
+	 */
+	public static StringTable updateClassTable(StringTable table, MappingStore previous, MappingStore next, MappingDiff diff) {
+		if (diff.isFull()) return buildClassTable(next);
+		return table.update(putClasses(previous, 0, previous.getClassCount(), diff), putClasses(next, 0, next.getClassCount(), diff));
+	}
+
+	// only puts the names affected by the diff, unless it's null
+	private static StringTable.Builder putClasses(MappingStore mappings, int start, int end, MappingDiff diff) {
+		StringTable.Builder target = new StringTable.Builder(diff == null ? (end - start) * 2 : 16);
+
+		for (int cls = start; cls < end; cls++) {
+			String name = mappings.getClassSrcName(cls);
+			String mapped = mappings.getClassDstName(cls);
+			// entries without a name in the source namespace can't be looked up
+			if (name == null || mapped == null || diff != null && !diff.affectsClass(name)) continue;
+
+			target.put(name, mapped);
+			String dottedName = name.replace('/', '.');
+
+			// replace returns the same instance for names in the default package
+			if (dottedName != name) {
+				target.put(dottedName, mapped.replace('/', '.'));
+			}
+		}
+
+		return target;
+	}
+
+	public static StringTable buildMethodTable(MappingStore mappings) {
+		long startTime = Profiler.start();
+		StringTable table = ParallelBuild.build(mappings.getMethodCount(), PARTITION_SIZE,
+				(start, end) -> putMethods(mappings, start, end, null), NamingTables::mergeNameMaps).build();
+		Profiler.phase("naming.buildMethodTable", startTime);
+		return table;
+	}
+
+	public static StringTable updateMethodTable(StringTable table, MappingStore previous, MappingStore next, MappingDiff diff) {
+		if (diff.isFull()) return buildMethodTable(next);
+		return table.update(putMethods(previous, 0, previous.getMethodCount(), diff), putMethods(next, 0, next.getMethodCount(), diff));
+	}
+
+	private static StringTable.Builder putMethods(MappingStore mappings, int start, int end, MappingDiff diff) {
+		StringTable.Builder target = new StringTable.Builder(diff == null ? end - start : 16);
+
+		for (int method = start; method < end; method++) {
+			String name = mappings.getMethodSrcName(method);
+
+			if (name != null && (diff == null || diff.affectsMethod(name))) {
+				putName(target, name, mappings.getMethodDstName(method));
+			}
+		}
+
+		return target;
+	}
+
+	public static StringTable buildFieldTable(MappingStore mappings) {
+		long startTime = Profiler.start();
+		StringTable table = ParallelBuild.build(mappings.getFieldCount(), PARTITION_SIZE,
+				(start, end) -> putFields(mappings, start, end, null), NamingTables::mergeNameMaps).build();
+		Profiler.phase("naming.buildFieldTable", startTime);
+		return table;
+	}
+
+	public static StringTable updateFieldTable(StringTable table, MappingStore previous, MappingStore next, MappingDiff diff) {
+		if (diff.isFull()) return buildFieldTable(next);
+		return table.update(putFields(previous, 0, previous.getFieldCount(), diff), putFields(next, 0, next.getFieldCount(), diff));
+	}
+
+	private static StringTable.Builder putFields(MappingStore mappings, int start, int end, MappingDiff diff) {
+		StringTable.Builder target = new StringTable.Builder(diff == null ? end - start : 16);
+
+		for (int field = start; field < end; field++) {
+			String name = mappings.getFieldSrcName(field);
+
+			if (name != null && (diff == null || diff.affectsField(name))) {
+				putName(target, name, mappings.getFieldDstName(field));
+			}
+		}
+
+		return target;
+	}
+
+	private static StringTable.Builder mergeNameMaps(StringTable.Builder first, StringTable.Builder second) {
+		// later mappings for the same name win, just like when putting them sequentially
+		first.merge(second, (current, later) -> later);
+		return first;
+	}
+
+	private static void putName(StringTable.Builder target, String name, String mapped) {
+		if (mapped != null) {
+			target.put(name, mapped);
+		}
+	}
+}
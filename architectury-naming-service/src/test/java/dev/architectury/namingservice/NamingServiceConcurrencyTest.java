@@ -0,0 +1,162 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.namingservice;
+
+import cpw.mods.modlauncher.api.INameMappingService.Domain;
+import dev.architectury.mappingstore.MappingStore;
+import dev.architectury.mappingstore.SyntheticMappings;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Lookups from many threads at once have to return the same results as on a single thread, including
+ * the first lookups, which race with the service still loading its tables.
+ */
+class NamingServiceConcurrencyTest {
+	private static final int CLASSES = 2000;
+	private static final int LOOKUPS = 4096;
+	private static final int ROUNDS = 5;
+	private static final int REPORTED_MISMATCHES = 10;
+
+	@TempDir
+	Path dir;
+
+	@Test
+	void concurrentLookupsEqualSingleThreadedOnes() throws Exception {
+		Path path = dir.resolve("mappings.tiny");
+		SyntheticMappings.write(path, CLASSES);
+		System.setProperty(MappingStore.CACHE_DIR_PROPERTY, dir.resolve("cache").toString());
+		System.setProperty("architectury.naming.mappingsPath", path.toString());
+		System.setProperty("architectury.naming.sourceNamespace", "srg");
+
+		List<Lookup> lookups = createLookups();
+		BiFunction<Domain, String, String> reference = new ArchitecturyNamingService().namingFunction();
+		String[] expected = new String[lookups.size()];
+		int mapped = 0;
+
+		for (int i = 0; i < expected.length; i++) {
+			expected[i] = lookups.get(i).resolve(reference);
+			if (!expected[i].equals(lookups.get(i).name)) mapped++;
+		}
+
+		assertTrue(mapped > 0, "no lookup resolved to a mapping");
+
+		// created right before the lookups start, so they race with loading the tables
+		BiFunction<Domain, String, String> naming = new ArchitecturyNamingService().namingFunction();
+		int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+		CyclicBarrier start = new CyclicBarrier(threads);
+		List<String> mismatches = Collections.synchronizedList(new ArrayList<>());
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+		try {
+			List<Future<?>> workers = new ArrayList<>();
+
+			for (int t = 0; t < threads; t++) {
+				int thread = t;
+				workers.add(executor.submit(() -> {
+					start.await();
+
+					for (int round = 0; round < ROUNDS; round++) {
+						// every thread walks the lookups in its own order
+						for (int n = 0; n < lookups.size(); n++) {
+							int i = (n * (2 * thread + 1) + round * 31 + thread) % lookups.size();
+							String result = lookups.get(i).resolve(naming);
+
+							if (!expected[i].equals(result) && mismatches.size() < REPORTED_MISMATCHES) {
+								mismatches.add(lookups.get(i) + ": expected " + expected[i] + ", got " + result);
+							}
+						}
+					}
+
+					return null;
+				}));
+			}
+
+			for (Future<?> worker : workers) {
+				worker.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		assertEquals(Collections.emptyList(), mismatches);
+	}
+
+	private static List<Lookup> createLookups() {
+		List<Lookup> lookups = new ArrayList<>();
+
+		for (int n = 0; n < LOOKUPS; n++) {
+			int cls = (int) ((long) n * CLASSES / LOOKUPS);
+
+			switch (n % 4) {
+				case 0:
+					lookups.add(new Lookup(Domain.CLASS, SyntheticMappings.getSrgClass(cls)));
+					break;
+				case 1:
+					lookups.add(new Lookup(Domain.METHOD, SyntheticMappings.getSrgMethod(cls, n % SyntheticMappings.METHODS_PER_CLASS)));
+					break;
+				case 2:
+					lookups.add(new Lookup(Domain.FIELD, SyntheticMappings.getSrgField(cls, n % SyntheticMappings.FIELDS_PER_CLASS)));
+					break;
+				default:
+					lookups.add(new Lookup(Domain.METHOD, "modMethod" + n));
+					break;
+			}
+		}
+
+		return lookups;
+	}
+
+	private static final class Lookup {
+		final Domain domain;
+		final String name;
+
+		Lookup(Domain domain, String name) {
+			this.domain = domain;
+			this.name = name;
+		}
+
+		String resolve(BiFunction<Domain, String, String> naming) {
+			return naming.apply(domain, name);
+		}
+
+		@Override
+		public String toString() {
+			return domain + " " + name;
+		}
+	}
+}
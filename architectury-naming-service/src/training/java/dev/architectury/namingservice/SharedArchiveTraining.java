@@ -0,0 +1,70 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.namingservice;
+
+import cpw.mods.modlauncher.api.INameMappingService.Domain;
+import dev.architectury.mappingstore.MappingStore;
+import dev.architectury.mappingstore.SharedArchive;
+import dev.architectury.mappingstore.Training;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.function.BiFunction;
+
+/**
+ * The training workload the class list of the service is recorded from, see {@link SharedArchive}.
+ */
+final class SharedArchiveTraining {
+	private SharedArchiveTraining() {
+	}
+
+	public static void main(String[] args) throws IOException {
+		Training.run(args, SharedArchiveTraining::train);
+	}
+
+	private static void train(Path mappingsPath, String sourceNamespace) throws IOException {
+		System.setProperty("architectury.naming.mappingsPath", mappingsPath.toString());
+		System.setProperty("architectury.naming.sourceNamespace", sourceNamespace);
+		ArchitecturyNamingService service = new ArchitecturyNamingService();
+		BiFunction<Domain, String, String> naming = service.namingFunction();
+		MappingStore mappings = MappingStore.open(mappingsPath, sourceNamespace, "named");
+		String[] classNames = new String[mappings.getClassCount()];
+
+		for (int cls = 0; cls < mappings.getClassCount(); cls++) {
+			classNames[cls] = mappings.getClassSrcName(cls);
+			naming.apply(Domain.CLASS, classNames[cls]);
+			naming.apply(Domain.CLASS, classNames[cls].replace('/', '.'));
+
+			for (int method = mappings.getMethodStart(cls); method < mappings.getMethodEnd(cls); method++) {
+				naming.apply(Domain.METHOD, mappings.getMethodSrcName(method));
+			}
+
+			for (int field = mappings.getFieldStart(cls); field < mappings.getFieldEnd(cls); field++) {
+				naming.apply(Domain.FIELD, mappings.getFieldSrcName(field));
+			}
+		}
+
+		service.remapAll(Domain.CLASS, classNames);
+	}
+}
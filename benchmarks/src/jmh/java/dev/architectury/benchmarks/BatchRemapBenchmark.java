@@ -0,0 +1,150 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.benchmarks;
+
+import cpw.mods.modlauncher.api.INameMappingService.Domain;
+import dev.architectury.mappingstore.MappingStore;
+import dev.architectury.mappingstore.SyntheticMappings;
+import dev.architectury.mixinremapperservice.MixinIntermediaryDevRemapper;
+import dev.architectury.mixinremapperservice.MixinTables;
+import dev.architectury.namingservice.ArchitecturyNamingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+/**
+ * Measures remapping a batch of names with the batch methods against remapping them one by one.
+ * Batches mix names with and without mappings, like the names in a crash report.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class BatchRemapBenchmark {
+	@Param({"10000"})
+	public int classes;
+
+	@Param({"1024", "65536"})
+	public int batchSize;
+
+	private ArchitecturyNamingService namingService;
+	private BiFunction<Domain, String, String> naming;
+	private MixinIntermediaryDevRemapper remapper;
+	private Domain[] domains;
+	private String[] names;
+	private String[] owners;
+	private String[] methodNames;
+	private String[] methodDescs;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		System.setProperty(MappingStore.CACHE_DIR_PROPERTY, Files.createTempDirectory("architectury-benchmark-cache").toString());
+		System.setProperty("architectury.naming.mappingsPath", BenchmarkMappings.getPath(classes).toString());
+		System.setProperty("architectury.naming.sourceNamespace", "srg");
+		namingService = new ArchitecturyNamingService();
+		naming = namingService.namingFunction();
+		remapper = new MixinIntermediaryDevRemapper(MixinTables.build(MappingStore.open(BenchmarkMappings.getPath(classes), "srg", "named")));
+		MixinRemapperBenchmark.registerClassInfos(classes);
+
+		domains = new Domain[batchSize];
+		names = new String[batchSize];
+		owners = new String[batchSize];
+		methodNames = new String[batchSize];
+		methodDescs = new String[batchSize];
+
+		for (int i = 0; i < batchSize; i++) {
+			int cls = (int) ((long) i * classes / batchSize);
+			boolean mapped = i % 4 != 0;
+
+			switch (i % 3) {
+				case 0:
+					domains[i] = Domain.CLASS;
+					names[i] = mapped ? SyntheticMappings.getSrgClass(cls).replace('/', '.') : "com.example.mod.ModClass" + i;
+					break;
+				case 1:
+					domains[i] = Domain.METHOD;
+					names[i] = mapped ? SyntheticMappings.getSrgMethod(cls, i % SyntheticMappings.METHODS_PER_CLASS) : "modMethod" + i;
+					break;
+				default:
+					domains[i] = Domain.FIELD;
+					names[i] = mapped ? SyntheticMappings.getSrgField(cls, i % SyntheticMappings.FIELDS_PER_CLASS) : "modField" + i;
+			}
+
+			owners[i] = SyntheticMappings.getSrgClass(cls);
+			methodNames[i] = mapped ? SyntheticMappings.getSrgMethod(cls, i % SyntheticMappings.METHODS_PER_CLASS) : "modMethod" + i;
+			methodDescs[i] = SyntheticMappings.getSrgMethodDesc(cls, classes);
+		}
+
+		// wait for the background loading to finish
+		namingService.remapAll(domains, names);
+	}
+
+	@Benchmark
+	public String[] namingOneByOne() {
+		String[] result = new String[names.length];
+
+		for (int i = 0; i < names.length; i++) {
+			result[i] = naming.apply(domains[i], names[i]);
+		}
+
+		return result;
+	}
+
+	@Benchmark
+	public String[] namingBatch() {
+		return namingService.remapAll(domains, names);
+	}
+
+	@Benchmark
+	public String[] mixinOneByOne() {
+		String[] result = new String[methodNames.length];
+
+		for (int i = 0; i < methodNames.length; i++) {
+			result[i] = remapper.mapMethodName(owners[i], methodNames[i], methodDescs[i]);
+		}
+
+		return result;
+	}
+
+	@Benchmark
+	public String[] mixinBatch() {
+		return remapper.mapMethodNames(owners, methodNames, methodDescs);
+	}
+}
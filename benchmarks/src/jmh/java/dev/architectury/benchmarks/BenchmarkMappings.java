@@ -0,0 +1,64 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.benchmarks;
+
+import dev.architectury.mappingstore.SyntheticMappings;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * The {@link SyntheticMappings} the benchmarks run on, generated once up front by the
+ * {@code generateBenchmarkMappings} task so generating them isn't part of any measurement.
+ */
+public final class BenchmarkMappings {
+	public static final String MAPPINGS_DIR_PROPERTY = "benchmark.mappingsDir";
+
+	private BenchmarkMappings() {
+	}
+
+	public static void main(String[] args) throws IOException {
+		Path dir = Paths.get(args[0]);
+		Files.createDirectories(dir);
+
+		for (int i = 1; i < args.length; i++) {
+			int classes = Integer.parseInt(args[i]);
+			Path path = dir.resolve(getFileName(classes));
+			SyntheticMappings.write(path, classes);
+			System.out.println("Generated " + path + " (" + Files.size(path) / 1024 + " KiB)");
+		}
+	}
+
+	public static Path getPath(int classes) {
+		String dir = System.getProperty(MAPPINGS_DIR_PROPERTY);
+		if (dir == null) throw new IllegalStateException("Missing system property " + MAPPINGS_DIR_PROPERTY + ", run the jmh task through Gradle");
+		return Paths.get(dir, getFileName(classes));
+	}
+
+	private static String getFileName(int classes) {
+		return "mappings-" + classes + ".tiny";
+	}
+}
@@ -0,0 +1,131 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.benchmarks;
+
+import cpw.mods.modlauncher.api.INameMappingService.Domain;
+import dev.architectury.mappingstore.MappingStore;
+import dev.architectury.mappingstore.SyntheticMappings;
+import dev.architectury.mixinremapperservice.MixinIntermediaryDevRemapper;
+import dev.architectury.mixinremapperservice.MixinTables;
+import dev.architectury.namingservice.ArchitecturyNamingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+/**
+ * Measures lookup throughput with one thread per processor sharing the same services, like parallel
+ * class transformation does. Compared with the single-threaded scores of {@link MixinRemapperBenchmark}
+ * and {@link NamingServiceBenchmark}, this shows how lookups scale across cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Threads(Threads.MAX)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ConcurrentLookupBenchmark {
+	private static final int CLASSES = 10000;
+	private static final int NAMES = 1024;
+
+	private MixinIntermediaryDevRemapper remapper;
+	private BiFunction<Domain, String, String> naming;
+	private final String[] owners = new String[NAMES];
+	private final String[] methodNames = new String[NAMES];
+	private final String[] methodDescs = new String[NAMES];
+	private final String[] modOwners = new String[NAMES];
+	private final String[] inheritedMethodNames = new String[NAMES];
+	private final String[] inheritedMethodDescs = new String[NAMES];
+
+	@State(Scope.Thread)
+	public static class Cursor {
+		private int index;
+
+		int next() {
+			return index++ & (NAMES - 1);
+		}
+	}
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		System.setProperty(MappingStore.CACHE_DIR_PROPERTY, Files.createTempDirectory("architectury-benchmark-cache").toString());
+		System.setProperty("architectury.naming.mappingsPath", BenchmarkMappings.getPath(CLASSES).toString());
+		System.setProperty("architectury.naming.sourceNamespace", "srg");
+		remapper = new MixinIntermediaryDevRemapper(MixinTables.build(MappingStore.open(BenchmarkMappings.getPath(CLASSES), "srg", "named")));
+		naming = new ArchitecturyNamingService().namingFunction();
+		MixinRemapperBenchmark.registerClassInfos(CLASSES);
+
+		for (int i = 0; i < NAMES; i++) {
+			int cls = (int) ((long) i * CLASSES / NAMES);
+			owners[i] = SyntheticMappings.getSrgClass(cls);
+			methodNames[i] = SyntheticMappings.getSrgMethod(cls, i % SyntheticMappings.METHODS_PER_CLASS);
+			methodDescs[i] = SyntheticMappings.getSrgMethodDesc(cls, CLASSES);
+
+			int mod = i % MixinRemapperBenchmark.MOD_CLASSES;
+			int declaring = (mod + 1) * SyntheticMappings.CHAIN_LENGTH - 1 - i % SyntheticMappings.CHAIN_LENGTH;
+			modOwners[i] = MixinRemapperBenchmark.getModClass(mod);
+			inheritedMethodNames[i] = SyntheticMappings.getSrgMethod(declaring, i % SyntheticMappings.METHODS_PER_CLASS);
+			inheritedMethodDescs[i] = SyntheticMappings.getSrgMethodDesc(declaring, CLASSES);
+		}
+
+		// wait for the background loading to finish
+		naming.apply(Domain.METHOD, "");
+	}
+
+	@Benchmark
+	public String mapMethodNameHit(Cursor cursor) {
+		int i = cursor.next();
+		return remapper.mapMethodName(owners[i], methodNames[i], methodDescs[i]);
+	}
+
+	@Benchmark
+	public String mapMethodNameHierarchyCached(Cursor cursor) {
+		int i = cursor.next();
+		return remapper.mapMethodName(modOwners[i], inheritedMethodNames[i], inheritedMethodDescs[i]);
+	}
+
+	@Benchmark
+	public String mapDesc(Cursor cursor) {
+		return remapper.mapDesc(methodDescs[cursor.next()]);
+	}
+
+	@Benchmark
+	public String namingMethodHit(Cursor cursor) {
+		return naming.apply(Domain.METHOD, methodNames[cursor.next()]);
+	}
+}
@@ -0,0 +1,157 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.benchmarks;
+
+import cpw.mods.modlauncher.api.INameMappingService;
+import dev.architectury.mappingstore.MappingIndex;
+import dev.architectury.mappingstore.MappingStore;
+import dev.architectury.mixinremapperservice.MixinIntermediaryDevRemapper;
+import dev.architectury.mixinremapperservice.MixinTables;
+import dev.architectury.namingservice.ArchitecturyNamingService;
+import dev.architectury.namingservice.NamingTables;
+import net.fabricmc.mappingio.MappingReader;
+import net.fabricmc.mappingio.tree.MemoryMappingTree;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
+/**
+ * Measures the startup cost of loading mappings and building the lookup tables.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class MappingLoadBenchmark {
+	@Param({"1000", "10000"})
+	public int classes;
+
+	private Path mappings;
+	private Path cacheDir;
+	private MappingStore store;
+	private Path index;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		mappings = BenchmarkMappings.getPath(classes);
+		cacheDir = Files.createTempDirectory("architectury-benchmark-cache");
+		System.setProperty(MappingStore.CACHE_DIR_PROPERTY, cacheDir.toString());
+		System.setProperty("architectury.naming.mappingsPath", mappings.toString());
+		System.setProperty("architectury.naming.sourceNamespace", "srg");
+
+		store = MappingStore.open(mappings, "srg", "named");
+		index = cacheDir.resolve("index.bin");
+		MappingIndex.Writer writer = new MappingIndex.Writer(mappings, "srg", "named");
+		NamingTables.write(store, writer);
+		MixinTables.build(store).write(writer);
+		writer.write(index);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		deleteCache();
+	}
+
+	/**
+	 * Parsing the text mappings into a tree, which both services did on every launch before the store.
+	 */
+	@Benchmark
+	public MemoryMappingTree parseText() throws IOException {
+		MemoryMappingTree tree = new MemoryMappingTree();
+		MappingReader.read(mappings, tree);
+		return tree;
+	}
+
+	@Benchmark
+	public MappingStore openStoreCold(ColdCache coldCache) throws IOException {
+		return MappingStore.open(mappings, "srg", "named");
+	}
+
+	@Benchmark
+	public MappingStore openStoreWarm() throws IOException {
+		return MappingStore.open(mappings, "srg", "named");
+	}
+
+	/**
+	 * Opening the (warm) store and building all three naming tables.
+	 */
+	@Benchmark
+	public String buildNamingTables() {
+		BiFunction<INameMappingService.Domain, String, String> naming = new ArchitecturyNamingService().namingFunction();
+		naming.apply(INameMappingService.Domain.CLASS, "a");
+		naming.apply(INameMappingService.Domain.METHOD, "a");
+		return naming.apply(INameMappingService.Domain.FIELD, "a");
+	}
+
+	@Benchmark
+	public MixinIntermediaryDevRemapper buildMixinRemapper() {
+		return new MixinIntermediaryDevRemapper(MixinTables.build(store));
+	}
+
+	/**
+	 * Loading every table of both services from a prebuilt index instead of building them.
+	 */
+	@Benchmark
+	public MixinTables loadIndex() throws IOException {
+		return MixinTables.read(MappingIndex.load(index, "srg", "named"));
+	}
+
+	private void deleteCache() throws IOException {
+		try (Stream<Path> files = Files.walk(cacheDir)) {
+			files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+		}
+	}
+
+	/**
+	 * Deletes the store cache before every invocation, so the store has to be built from the text mappings.
+	 */
+	@State(Scope.Thread)
+	public static class ColdCache {
+		@Setup(Level.Invocation)
+		public void clear(MappingLoadBenchmark benchmark) throws IOException {
+			benchmark.deleteCache();
+			Files.createDirectories(benchmark.cacheDir);
+		}
+	}
+}
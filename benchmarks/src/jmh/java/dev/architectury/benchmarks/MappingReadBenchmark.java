@@ -0,0 +1,195 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.benchmarks;
+
+import dev.architectury.mappingstore.CompactMappings;
+import dev.architectury.mappingstore.MappingFiles;
+import dev.architectury.mappingstore.MappingStore;
+import net.fabricmc.mappingio.MappedElementKind;
+import net.fabricmc.mappingio.MappingReader;
+import net.fabricmc.mappingio.MappingVisitor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Measures reading the mappings in each supported format, against reading the text mappings
+ * with mapping-io directly ({@code baseline}), which is how the services read them before.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class MappingReadBenchmark {
+	@Param({"10000"})
+	public int classes;
+
+	@Param({"baseline", "tiny", "tiny.gz", "compact", "compact.gz"})
+	public String format;
+
+	private Path dir;
+	private Path cacheDir;
+	private Path text;
+	private Path mappings;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		dir = Files.createTempDirectory("architectury-benchmark-formats");
+		cacheDir = dir.resolve("cache");
+		System.setProperty(MappingStore.CACHE_DIR_PROPERTY, cacheDir.toString());
+		text = BenchmarkMappings.getPath(classes);
+
+		switch (format) {
+			case "baseline":
+			case "tiny":
+				mappings = text;
+				break;
+			case "tiny.gz":
+				mappings = dir.resolve("mappings.tiny.gz");
+
+				try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(mappings))) {
+					Files.copy(text, out);
+				}
+
+				break;
+			case "compact":
+			case "compact.gz":
+				mappings = dir.resolve("mappings." + format);
+				CompactMappings.write(text, mappings);
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown format " + format);
+		}
+
+		System.out.println();
+		System.out.println(format + ": " + Files.size(mappings) / 1024 + " KiB");
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		try (Stream<Path> files = Files.walk(dir)) {
+			files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+		}
+	}
+
+	@Benchmark
+	public int read() throws IOException {
+		CountingVisitor visitor = new CountingVisitor();
+
+		if (format.equals("baseline")) {
+			MappingReader.read(mappings, visitor);
+		} else {
+			MappingFiles.read(mappings, visitor);
+		}
+
+		return visitor.names;
+	}
+
+	/**
+	 * Opening a store without a cache, which hashes and reads the mappings and writes the cache.
+	 */
+	@Benchmark
+	public MappingStore openStoreCold(ColdCache coldCache) throws IOException {
+		return MappingStore.open(mappings, "srg", "named");
+	}
+
+	@State(Scope.Thread)
+	public static class ColdCache {
+		@Setup(Level.Invocation)
+		public void clear(MappingReadBenchmark benchmark) throws IOException {
+			if (Files.exists(benchmark.cacheDir)) {
+				try (Stream<Path> files = Files.walk(benchmark.cacheDir)) {
+					files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+				}
+			}
+		}
+	}
+
+	private static final class CountingVisitor implements MappingVisitor {
+		int names;
+
+		@Override
+		public void visitNamespaces(String srcNamespace, List<String> dstNamespaces) {
+		}
+
+		@Override
+		public boolean visitClass(String srcName) {
+			names++;
+			return true;
+		}
+
+		@Override
+		public boolean visitField(String srcName, String srcDesc) {
+			names++;
+			return true;
+		}
+
+		@Override
+		public boolean visitMethod(String srcName, String srcDesc) {
+			names++;
+			return true;
+		}
+
+		@Override
+		public boolean visitMethodArg(int argPosition, int lvIndex, String srcName) {
+			return false;
+		}
+
+		@Override
+		public boolean visitMethodVar(int lvtRowIndex, int lvIndex, int startOpIdx, String srcName) {
+			return false;
+		}
+
+		@Override
+		public void visitDstName(MappedElementKind targetKind, int namespace, String name) {
+			names++;
+		}
+
+		@Override
+		public void visitComment(MappedElementKind targetKind, String comment) {
+		}
+	}
+}
@@ -0,0 +1,204 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.benchmarks;
+
+import dev.architectury.mappingstore.MappingStore;
+import dev.architectury.mappingstore.SyntheticMappings;
+import dev.architectury.mixinremapperservice.MixinIntermediaryDevRemapper;
+import dev.architectury.mixinremapperservice.MixinTables;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.ClassNode;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.asm.mixin.transformer.ClassInfo;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures steady-state throughput of {@link MixinIntermediaryDevRemapper}.
+ *
+ * <p>Mixin's {@link ClassInfo} is stubbed by registering synthetic class nodes for every mapped class,
+ * following the inheritance chains of {@link SyntheticMappings}, and for {@value #MOD_CLASSES} unmapped
+ * mod classes that each extend the last class of a chain. Lookups through a mod class always fall back
+ * to the hierarchy walk.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class MixinRemapperBenchmark {
+	private static final int NAMES = 1024;
+	static final int MOD_CLASSES = 64;
+
+	@Param({"1000", "10000"})
+	public int classes;
+
+	private MixinIntermediaryDevRemapper remapper;
+	private final String[] owners = new String[NAMES];
+	private final String[] methodNames = new String[NAMES];
+	private final String[] methodDescs = new String[NAMES];
+	private final String[] fieldNames = new String[NAMES];
+	private final String[] modOwners = new String[NAMES];
+	private final String[] inheritedMethodNames = new String[NAMES];
+	private final String[] inheritedMethodDescs = new String[NAMES];
+	private final String[] missingMethodNames = new String[NAMES];
+	private final String[] sharedMethodNames = new String[NAMES];
+	private int index;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		System.setProperty(MappingStore.CACHE_DIR_PROPERTY, Files.createTempDirectory("architectury-benchmark-cache").toString());
+		remapper = new MixinIntermediaryDevRemapper(MixinTables.build(MappingStore.open(BenchmarkMappings.getPath(classes), "srg", "named")));
+		registerClassInfos(classes);
+
+		for (int i = 0; i < NAMES; i++) {
+			int cls = (int) ((long) i * classes / NAMES);
+			owners[i] = SyntheticMappings.getSrgClass(cls);
+			methodNames[i] = SyntheticMappings.getSrgMethod(cls, i % SyntheticMappings.METHODS_PER_CLASS);
+			methodDescs[i] = SyntheticMappings.getSrgMethodDesc(cls, classes);
+			fieldNames[i] = SyntheticMappings.getSrgField(cls, i % SyntheticMappings.FIELDS_PER_CLASS);
+			missingMethodNames[i] = "modMethod" + i;
+			sharedMethodNames[i] = SyntheticMappings.getSrgSharedMethod(cls);
+
+			// a method declared by a random class of the mod class' super class chain
+			int mod = i % MOD_CLASSES;
+			int chainEnd = Math.min((mod + 1) * SyntheticMappings.CHAIN_LENGTH, classes) - 1;
+			int declaring = chainEnd - i % SyntheticMappings.CHAIN_LENGTH;
+			modOwners[i] = getModClass(mod);
+			inheritedMethodNames[i] = SyntheticMappings.getSrgMethod(declaring, i % SyntheticMappings.METHODS_PER_CLASS);
+			inheritedMethodDescs[i] = SyntheticMappings.getSrgMethodDesc(declaring, classes);
+		}
+	}
+
+	/**
+	 * Registers the stubbed class infos of the mapped classes and the mod classes.
+	 */
+	static void registerClassInfos(int classes) {
+		for (int cls = 0; cls < classes; cls++) {
+			int superClass = SyntheticMappings.getSuperClass(cls);
+			registerClass(SyntheticMappings.getNamedClass(cls), superClass < 0 ? "java/lang/Object" : SyntheticMappings.getNamedClass(superClass));
+		}
+
+		for (int i = 0; i < MOD_CLASSES; i++) {
+			int chainEnd = Math.min((i + 1) * SyntheticMappings.CHAIN_LENGTH, classes) - 1;
+			registerClass(getModClass(i), SyntheticMappings.getNamedClass(chainEnd));
+		}
+	}
+
+	static String getModClass(int i) {
+		return "com/example/mod/ModClass" + i;
+	}
+
+	private static void registerClass(String name, String superName) {
+		ClassNode node = new ClassNode();
+		node.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC, name, null, superName, null);
+		ClassInfo.fromClassNode(node);
+	}
+
+	private int next() {
+		return index++ & (NAMES - 1);
+	}
+
+	@Benchmark
+	public String mapMethodNameHit() {
+		int i = next();
+		return remapper.mapMethodName(owners[i], methodNames[i], methodDescs[i]);
+	}
+
+	@Benchmark
+	public String mapMethodNameWithoutOwner() {
+		int i = next();
+		return remapper.mapMethodName(null, methodNames[i], methodDescs[i]);
+	}
+
+	@Benchmark
+	public String mapMethodNameMiss() {
+		int i = next();
+		return remapper.mapMethodName(owners[i], missingMethodNames[i], methodDescs[i]);
+	}
+
+	/**
+	 * A method declared by the owner, whose name and descriptor map to different names in other classes.
+	 */
+	@Benchmark
+	public String mapMethodNameAmbiguous() {
+		int i = next();
+		return remapper.mapMethodName(owners[i], sharedMethodNames[i], "()V");
+	}
+
+	@Benchmark
+	public String mapFieldNameHit() {
+		int i = next();
+		return remapper.mapFieldName(owners[i], fieldNames[i], "I");
+	}
+
+	@Benchmark
+	public String mapMethodNameHierarchyCached() {
+		int i = next();
+		return remapper.mapMethodName(modOwners[i], inheritedMethodNames[i], inheritedMethodDescs[i]);
+	}
+
+	@Benchmark
+	public String mapMethodNameHierarchyWalk() {
+		int i = next();
+		remapper.invalidateHierarchyCache();
+		return remapper.mapMethodName(modOwners[i], inheritedMethodNames[i], inheritedMethodDescs[i]);
+	}
+
+	@Benchmark
+	public String mapMethodNameHierarchyMiss() {
+		int i = next();
+		remapper.invalidateHierarchyCache();
+		return remapper.mapMethodName(modOwners[i], missingMethodNames[i], methodDescs[i]);
+	}
+
+	@Benchmark
+	public String mapClass() {
+		return remapper.map(owners[next()]);
+	}
+
+	@Benchmark
+	public String mapDesc() {
+		return remapper.mapDesc(methodDescs[next()]);
+	}
+
+	@Benchmark
+	public String unmapDesc() {
+		return remapper.unmapDesc(methodDescs[next()]);
+	}
+}
@@ -0,0 +1,130 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.benchmarks;
+
+import dev.architectury.mappingstore.NameFilter;
+import dev.architectury.mappingstore.StringTable;
+import dev.architectury.mappingstore.SyntheticMappings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares lookups of names with and without a mapping through a {@link NameFilter} with plain
+ * {@link StringTable} lookups. The false positive rate of the filter is measured over a million
+ * unmapped mod, JDK and neighbouring SRG names and printed during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class NameFilterBenchmark {
+	private static final int NAMES = 1024;
+	private static final int FALSE_POSITIVE_SAMPLES = 1_000_000;
+
+	@Param({"10000", "100000"})
+	public int size;
+
+	private StringTable table;
+	private NameFilter filter;
+	private final String[] names = new String[NAMES];
+	private final String[] missingNames = new String[NAMES];
+	private int index;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		StringTable.Builder builder = new StringTable.Builder(size);
+
+		for (int i = 0; i < size; i++) {
+			// every other srg name, so the neighbouring ones are unmapped
+			builder.put("m_" + i * 2 + "_", SyntheticMappings.getNamedMethod(i % 50));
+		}
+
+		table = builder.build();
+		filter = NameFilter.of(table);
+
+		for (int i = 0; i < NAMES; i++) {
+			names[i] = new String("m_" + (long) i * size / NAMES * 2 + "_");
+			missingNames[i] = getMissingName(i);
+		}
+
+		int falsePositives = 0;
+
+		for (int i = 0; i < FALSE_POSITIVE_SAMPLES; i++) {
+			if (filter.mightContain(getMissingName(i))) falsePositives++;
+		}
+
+		System.out.printf("%nName filter false positive rate for %d keys: %.4f%%%n", size, 100.0 * falsePositives / FALSE_POSITIVE_SAMPLES);
+	}
+
+	private static String getMissingName(int i) {
+		switch (i % 3) {
+			case 0:
+				return "m_" + (i * 2 + 1) + "_";
+			case 1:
+				return "modMethod" + i;
+			default:
+				return "java/lang/Class" + i;
+		}
+	}
+
+	private int next() {
+		return index++ & (NAMES - 1);
+	}
+
+	@Benchmark
+	public String stringTableHit() {
+		return table.get(names[next()]);
+	}
+
+	@Benchmark
+	public String filteredHit() {
+		String name = names[next()];
+		return filter.mightContain(name) ? table.get(name) : null;
+	}
+
+	@Benchmark
+	public String stringTableMiss() {
+		return table.get(missingNames[next()]);
+	}
+
+	@Benchmark
+	public String filteredMiss() {
+		String name = missingNames[next()];
+		return filter.mightContain(name) ? table.get(name) : null;
+	}
+}
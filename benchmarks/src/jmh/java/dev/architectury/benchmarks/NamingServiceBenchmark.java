@@ -0,0 +1,136 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.benchmarks;
+
+import cpw.mods.modlauncher.api.INameMappingService.Domain;
+import dev.architectury.mappingstore.MappingStore;
+import dev.architectury.mappingstore.SyntheticMappings;
+import dev.architectury.namingservice.ArchitecturyNamingService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+/**
+ * Measures steady-state lookup throughput of {@link ArchitecturyNamingService}.
+ * Every benchmark cycles through {@value #NAMES} different names to defeat branch prediction.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class NamingServiceBenchmark {
+	private static final int NAMES = 1024;
+
+	@Param({"1000", "10000"})
+	public int classes;
+
+	private BiFunction<Domain, String, String> naming;
+	private final String[] classNames = new String[NAMES];
+	private final String[] dottedClassNames = new String[NAMES];
+	private final String[] missingClassNames = new String[NAMES];
+	private final String[] missingDottedClassNames = new String[NAMES];
+	private final String[] methodNames = new String[NAMES];
+	private final String[] missingMethodNames = new String[NAMES];
+	private final String[] fieldNames = new String[NAMES];
+	private int index;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		System.setProperty(MappingStore.CACHE_DIR_PROPERTY, Files.createTempDirectory("architectury-benchmark-cache").toString());
+		System.setProperty("architectury.naming.mappingsPath", BenchmarkMappings.getPath(classes).toString());
+		System.setProperty("architectury.naming.sourceNamespace", "srg");
+		naming = new ArchitecturyNamingService().namingFunction();
+
+		for (int i = 0; i < NAMES; i++) {
+			int cls = (int) ((long) i * classes / NAMES);
+			classNames[i] = SyntheticMappings.getSrgClass(cls);
+			dottedClassNames[i] = classNames[i].replace('/', '.');
+			missingClassNames[i] = "com/example/mod/ModClass" + i;
+			missingDottedClassNames[i] = missingClassNames[i].replace('/', '.');
+			methodNames[i] = SyntheticMappings.getSrgMethod(cls, i % SyntheticMappings.METHODS_PER_CLASS);
+			missingMethodNames[i] = "modMethod" + i;
+			fieldNames[i] = SyntheticMappings.getSrgField(cls, i % SyntheticMappings.FIELDS_PER_CLASS);
+		}
+
+		// wait for the background loading to finish
+		naming.apply(Domain.CLASS, "");
+		naming.apply(Domain.METHOD, "");
+		naming.apply(Domain.FIELD, "");
+	}
+
+	private String next(String[] names) {
+		return names[index++ & (NAMES - 1)];
+	}
+
+	@Benchmark
+	public String classHit() {
+		return naming.apply(Domain.CLASS, next(classNames));
+	}
+
+	@Benchmark
+	public String classHitDotted() {
+		return naming.apply(Domain.CLASS, next(dottedClassNames));
+	}
+
+	@Benchmark
+	public String classMiss() {
+		return naming.apply(Domain.CLASS, next(missingClassNames));
+	}
+
+	@Benchmark
+	public String classMissDotted() {
+		return naming.apply(Domain.CLASS, next(missingDottedClassNames));
+	}
+
+	@Benchmark
+	public String methodHit() {
+		return naming.apply(Domain.METHOD, next(methodNames));
+	}
+
+	@Benchmark
+	public String methodMiss() {
+		return naming.apply(Domain.METHOD, next(missingMethodNames));
+	}
+
+	@Benchmark
+	public String fieldHit() {
+		return naming.apply(Domain.FIELD, next(fieldNames));
+	}
+}
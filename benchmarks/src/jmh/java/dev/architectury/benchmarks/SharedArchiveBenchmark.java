@@ -0,0 +1,131 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.benchmarks;
+
+import dev.architectury.mappingstore.MappingStore;
+import dev.architectury.mappingstore.SharedArchive;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures cold launches of the services with and without a class-data-sharing archive, see {@link SharedArchive}.
+ *
+ * <p>Every invocation starts a new JVM on the shadow jar of the service, which runs the training workload
+ * on the synthetic mappings. The store cache is written up front, like on every launch but the first.
+ * The class lists and their class paths are recorded by the {@code sharedClassList} tasks of the services.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+public class SharedArchiveBenchmark {
+	@Param({"naming", "mixin"})
+	public String service;
+
+	@Param({"1000", "10000"})
+	public int classes;
+
+	@Param({"false", "true"})
+	public boolean sharedArchive;
+
+	private Path dir;
+	private List<String> command;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException, InterruptedException {
+		String property = "benchmark.sharedClassList." + service;
+		String classListProperty = System.getProperty(property);
+		if (classListProperty == null) throw new IllegalStateException("Missing system property " + property + ", run the jmh task through Gradle");
+		Path classList = Paths.get(classListProperty);
+		String fileName = classList.getFileName().toString();
+		Path classPathFile = classList.resolveSibling(fileName.substring(0, fileName.lastIndexOf('.')) + ".classpath");
+		String classPath = new String(Files.readAllBytes(classPathFile), StandardCharsets.UTF_8).trim();
+
+		dir = Files.createTempDirectory("architectury-benchmark-shared-archive");
+		command = new ArrayList<>();
+		command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+
+		if (sharedArchive) {
+			// dumped by this JVM, which the launches use as well
+			Path archive = dir.resolve("classes.jsa");
+			SharedArchive.dump(classList, archive, classPath);
+			command.add("@" + SharedArchive.getArgumentFile(archive));
+		}
+
+		command.add("-D" + MappingStore.CACHE_DIR_PROPERTY + "=" + dir.resolve("cache"));
+		command.add("-cp");
+		command.add(classPath);
+		command.add(service.equals("naming") ? "dev.architectury.namingservice.SharedArchiveTraining" : "dev.architectury.mixinremapperservice.SharedArchiveTraining");
+		command.add(BenchmarkMappings.getPath(classes).toString());
+		command.add("srg");
+
+		// writes the store cache
+		launch();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		try (Stream<Path> files = Files.walk(dir)) {
+			files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+		}
+	}
+
+	@Benchmark
+	public void launch() throws IOException, InterruptedException {
+		Path output = dir.resolve("output.log");
+		Process process = new ProcessBuilder(command)
+				.redirectErrorStream(true)
+				.redirectOutput(output.toFile())
+				.start();
+
+		if (process.waitFor() != 0) {
+			throw new IllegalStateException("Launch failed: " + String.join(" ", command) + "\n"
+					+ new String(Files.readAllBytes(output), StandardCharsets.UTF_8));
+		}
+	}
+}
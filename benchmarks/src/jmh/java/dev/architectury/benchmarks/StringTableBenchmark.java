@@ -0,0 +1,144 @@
+/*
+ * This file is licensed under the MIT License, part of architectury-loom-runtime.
+ * Copyright (c) 2026 architectury
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package dev.architectury.benchmarks;
+
+import dev.architectury.mappingstore.StringTable;
+import dev.architectury.mappingstore.SyntheticMappings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link StringTable} lookups with the {@link HashMap}s it replaced, for plain and
+ * name+desc keys, and plain lookups in tables addressed by a perfect hash.
+ * The keys are fresh copies, so neither side benefits from identity checks.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class StringTableBenchmark {
+	private static final int NAMES = 1024;
+
+	@Param({"10000", "100000"})
+	public int size;
+
+	private final Map<String, String> hashMap = new HashMap<>();
+	private final Map<String, String> nameDescHashMap = new HashMap<>();
+	private StringTable table;
+	private StringTable perfectTable;
+	private StringTable nameDescTable;
+	private final String[] names = new String[NAMES];
+	private final String[] descs = new String[NAMES];
+	private final String[] missingNames = new String[NAMES];
+	private int index;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		StringTable.Builder builder = new StringTable.Builder(size);
+		StringTable.Builder nameDescBuilder = new StringTable.Builder(size);
+
+		for (int i = 0; i < size; i++) {
+			String name = "m_" + i + "_";
+			String desc = "(Lnet/minecraft/C_" + i % 1000 + "_;I)V";
+			String mapped = SyntheticMappings.getNamedMethod(i % 50);
+			hashMap.put(name, mapped);
+			nameDescHashMap.put(name + ";;" + desc, mapped);
+			builder.put(name, mapped);
+			nameDescBuilder.put(name, desc, mapped);
+		}
+
+		table = builder.build();
+		perfectTable = builder.buildPerfect();
+		nameDescTable = nameDescBuilder.build();
+
+		for (int i = 0; i < NAMES; i++) {
+			int entry = (int) ((long) i * size / NAMES);
+			names[i] = new String("m_" + entry + "_");
+			descs[i] = new String("(Lnet/minecraft/C_" + entry % 1000 + "_;I)V");
+			missingNames[i] = new String("modMethod" + i);
+		}
+	}
+
+	private int next() {
+		return index++ & (NAMES - 1);
+	}
+
+	@Benchmark
+	public String hashMapHit() {
+		return hashMap.get(names[next()]);
+	}
+
+	@Benchmark
+	public String stringTableHit() {
+		return table.get(names[next()]);
+	}
+
+	@Benchmark
+	public String perfectTableHit() {
+		return perfectTable.get(names[next()]);
+	}
+
+	@Benchmark
+	public String hashMapMiss() {
+		return hashMap.get(missingNames[next()]);
+	}
+
+	@Benchmark
+	public String stringTableMiss() {
+		return table.get(missingNames[next()]);
+	}
+
+	@Benchmark
+	public String perfectTableMiss() {
+		return perfectTable.get(missingNames[next()]);
+	}
+
+	@Benchmark
+	public String hashMapNameDescHit() {
+		int i = next();
+		return nameDescHashMap.get(names[i] + ";;" + descs[i]);
+	}
+
+	@Benchmark
+	public String stringTableNameDescHit() {
+		int i = next();
+		return nameDescTable.get(names[i], descs[i]);
+	}
+}